@@ -11,19 +11,24 @@ public class APShortestPath {
 
     // O(V^4)
     public static double[][] slowAllPairsShortestPaths(double[][] W) {
+        return slowAllPairsShortestPaths(W, CancellationToken.NONE);
+    }
+
+    public static double[][] slowAllPairsShortestPaths(double[][] W, @NotNull CancellationToken token) {
         var n = W.length;
         var L = W;
         for (int m = 2; m <= n - 1; m++) {
-            L = extendedShortestPath(L, W);
+            L = extendedShortestPath(L, W, token);
         }
         // L^(n-1)
         return L;
     }
 
-    private static double[][] extendedShortestPath(double[][] L_origin, double[][] W) {
+    private static double[][] extendedShortestPath(double[][] L_origin, double[][] W, CancellationToken token) {
         var n = W.length;
         var L_next = new double[n][n];
         for (int i = 0; i < n; i++) {
+            token.throwIfCancelled();
             for (int j = 0; j < n; j++) {
                 L_next[i][j] = Double.POSITIVE_INFINITY;
                 for (int k = 0; k < n; k++) {
@@ -36,20 +41,30 @@ public class APShortestPath {
 
     // O(V^3*lgV)
     public static double[][] fasterAllPairsShortestPaths(double[][] W) {
+        return fasterAllPairsShortestPaths(W, CancellationToken.NONE);
+    }
+
+    public static double[][] fasterAllPairsShortestPaths(double[][] W, @NotNull CancellationToken token) {
         var n = W.length;
         var L = W;
         int m = 1;
         for (; m < n - 1; m *= 2) {
-            L = extendedShortestPath(L, L);
+            L = extendedShortestPath(L, L, token);
         }
         return L;
     }
 
     // no negative-weight cycles
     public static double[][] FloydWarshall(double[][] W) {
+        return FloydWarshall(W, CancellationToken.NONE);
+    }
+
+    // token is checked once per pivot
+    public static double[][] FloydWarshall(double[][] W, @NotNull CancellationToken token) {
         var n = W.length;
         var D_origin = W;
         for (int k = 0; k < n; k++) {
+            token.throwIfCancelled();
             var D_current = new double[n][n];
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
@@ -63,6 +78,10 @@ public class APShortestPath {
 
 
     public static boolean[][] transitiveClosure(double[][] W) {
+        return transitiveClosure(W, CancellationToken.NONE);
+    }
+
+    public static boolean[][] transitiveClosure(double[][] W, @NotNull CancellationToken token) {
         var n = W.length;
         var T = new boolean[n][n];
         for (int i = 0; i < n; i++) {
@@ -71,6 +90,7 @@ public class APShortestPath {
             }
         }
         for (int k = 0; k < n; k++) {
+            token.throwIfCancelled();
             var T_k = new boolean[n][n];
             for (int i = 0; i < n; i++) {
                 for (int j = 0; j < n; j++) {
@@ -90,39 +110,59 @@ public class APShortestPath {
     // Fibonacci heap: O(V^2*lgV + V*E)
     // min heap: O(V*E*lgV)
     public static <T> Optional<double[][]> Johnson(@NotNull LinkedGraph<BFSVertex<T>> graph, ShortestPathDijkstra algoDijkstra) {
+        return Johnson(graph, algoDijkstra, CancellationToken.NONE);
+    }
+
+    // token is checked by bellman ford and before every dijkstra
+    // edges are reweighted in place during the run and restored before return, also on cancellation
+    public static <T> Optional<double[][]> Johnson(@NotNull LinkedGraph<BFSVertex<T>> graph,
+                                                   ShortestPathDijkstra algoDijkstra,
+                                                   @NotNull CancellationToken token) {
         Map<BFSVertex<T>, Double> h = new HashMap<>();
         var n = graph.getVerticesCount();
         var vertices_new = new ArrayList<>(graph.getAllVertices());
         var s = new BFSVertex<T>();
         vertices_new.add(s);
         var new_graph = buildGraph(graph, vertices_new, s);
-        if (!SSShortestPath.BellmanFord(new_graph, s)) {
+        if (!SSShortestPath.BellmanFord(new_graph, s, token)) {
             return Optional.empty();
         }
         else {
-            var edges_new = new_graph.getAllEdges();
+            var edges_new = new_graph.iterateEdges(true);
             for (var vertex : vertices_new) {
                 h.put(vertex, vertex.distance);
             }
-            for (var edge : edges_new) {
-                edge.weight = edge.weight + edge.getFormerVertex().distance - edge.getLaterVertex().distance;
-            }
-            var D = new double[n][n];
-            int idx_u = 0;
-            for (var u : vertices_new) {
-                if (u != s) {
-                    int idx_v = 0;
-                    algoDijkstra.apply(graph, u);
-                    for (var v : vertices_new) {
-                        if (v != s) {
-                            D[idx_u][idx_v] = v.distance + h.get(v) - h.get(u);
-                            idx_v++;
+            List<LinkedGraph.Edge<BFSVertex<T>>> reweighted = new ArrayList<>();
+            List<Double> original = new ArrayList<>();
+            try {
+                for (var edge : edges_new) {
+                    reweighted.add(edge);
+                    original.add(edge.weight);
+                    edge.weight = edge.weight + edge.getFormerVertex().distance - edge.getLaterVertex().distance;
+                }
+                var D = new double[n][n];
+                int idx_u = 0;
+                for (var u : vertices_new) {
+                    if (u != s) {
+                        token.throwIfCancelled();
+                        int idx_v = 0;
+                        algoDijkstra.apply(graph, u);
+                        for (var v : vertices_new) {
+                            if (v != s) {
+                                D[idx_u][idx_v] = v.distance + h.get(v) - h.get(u);
+                                idx_v++;
+                            }
                         }
+                        idx_u++;
                     }
-                    idx_u++;
+                }
+                return Optional.of(D);
+            }
+            finally {
+                for (int i = 0; i < reweighted.size(); i++) {
+                    reweighted.get(i).weight = original.get(i);
                 }
             }
-            return Optional.of(D);
         }
     }
 
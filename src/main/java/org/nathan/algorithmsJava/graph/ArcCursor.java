@@ -0,0 +1,22 @@
+package org.nathan.algorithmsJava.graph;
+
+// sequential reader of the arcs of one vertex, reusable across vertices
+// not thread safe, every thread takes its own cursor from IntGraph.newCursor()
+public interface ArcCursor {
+    /**
+     * position the cursor before the first arc of u
+     */
+    void reset(int u);
+
+    boolean hasNext();
+
+    /**
+     * @return head of the next arc
+     */
+    int next();
+
+    /**
+     * @return weight of the arc returned by the last next()
+     */
+    double weight();
+}
@@ -0,0 +1,100 @@
+package org.nathan.algorithmsJava.graph;
+
+// in place sort of an arc range kept as parallel arrays, the keys are sorted and the values follow.
+// quick sort with insertion sort for short ranges, recursion goes into the smaller part to bound stack depth.
+// not stable, ranges are [from, to)
+final class ArcSort {
+    private static final int INSERTION_THRESHOLD = 16;
+
+    private ArcSort() {
+    }
+
+    static void byTarget(int[] targets, double[] weights, int from, int to) {
+        int low = from;
+        int high = to - 1;
+        while (high - low > INSERTION_THRESHOLD) {
+            int pivot = targets[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (targets[i] < pivot) {
+                    i++;
+                }
+                while (targets[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(targets, weights, i++, j--);
+                }
+            }
+            if (j - low < high - i) {
+                byTarget(targets, weights, low, j + 1);
+                low = i;
+            }
+            else {
+                byTarget(targets, weights, i, high + 1);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            int t = targets[i];
+            double w = weights[i];
+            int j = i - 1;
+            for (; j >= low && targets[j] > t; j--) {
+                targets[j + 1] = targets[j];
+                weights[j + 1] = weights[j];
+            }
+            targets[j + 1] = t;
+            weights[j + 1] = w;
+        }
+    }
+
+    static void byWeight(double[] weights, int[] arcs, int from, int to) {
+        int low = from;
+        int high = to - 1;
+        while (high - low > INSERTION_THRESHOLD) {
+            double pivot = weights[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (weights[i] < pivot) {
+                    i++;
+                }
+                while (weights[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(arcs, weights, i++, j--);
+                }
+            }
+            if (j - low < high - i) {
+                byWeight(weights, arcs, low, j + 1);
+                low = i;
+            }
+            else {
+                byWeight(weights, arcs, i, high + 1);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            double w = weights[i];
+            int a = arcs[i];
+            int j = i - 1;
+            for (; j >= low && weights[j] > w; j--) {
+                weights[j + 1] = weights[j];
+                arcs[j + 1] = arcs[j];
+            }
+            weights[j + 1] = w;
+            arcs[j + 1] = a;
+        }
+    }
+
+    private static void swap(int[] ints, double[] doubles, int i, int j) {
+        int t = ints[i];
+        ints[i] = ints[j];
+        ints[j] = t;
+        double d = doubles[i];
+        doubles[i] = doubles[j];
+        doubles[j] = d;
+    }
+}
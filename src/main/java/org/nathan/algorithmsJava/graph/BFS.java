@@ -1,6 +1,7 @@
 package org.nathan.algorithmsJava.graph;
 
 import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
 
 import java.util.*;
 
@@ -36,6 +37,58 @@ public final class BFS {
         }
     }
 
+    /**
+     * @param G graph
+     * @param s source
+     * @return hops from s and bfs tree
+     */
+    public static ShortestPathTree breathFirstSearch(@NotNull IntGraph G, int s) {
+        return breathFirstSearch(G, s, AlgorithmMetrics.NONE);
+    }
+
+    /**
+     * reports visits, arcs scanned and the peak queue length
+     */
+    public static ShortestPathTree breathFirstSearch(@NotNull IntGraph G, int s, @NotNull AlgorithmMetrics metrics) {
+        var tree = ShortestPathTree.initial(G.getVerticesCount(), s);
+        var distance = tree.distance;
+        var parent = tree.parent;
+        var cursor = G.newCursor();
+        var Q = new int[G.getVerticesCount()];
+        int head = 0;
+        int tail = 0;
+        Q[tail++] = s;
+        metrics.vertexVisited();
+        metrics.queueSize(1);
+        while (head < tail) {
+            int u = Q[head++];
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                metrics.edgeScanned();
+                if (distance[v] == Double.POSITIVE_INFINITY) {
+                    distance[v] = distance[u] + 1;
+                    parent[v] = u;
+                    Q[tail++] = v;
+                    metrics.vertexVisited();
+                    metrics.queueSize(tail - head);
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * level synchronous bfs, parts of the partition expand their frontiers in parallel
+     *
+     * @param P partitioned graph
+     * @param s source
+     * @return hops from s and bfs tree
+     */
+    public static ShortestPathTree parallelBreathFirstSearch(@NotNull GraphPartition P, int s) {
+        return P.search(s, true, CancellationToken.NONE);
+    }
+
     public static <T> List<T> getPath(@NotNull BFSVertex<T> s, @NotNull BFSVertex<T> v) {
         List<T> t = new ArrayList<>();
         traverse(s, v, t);
@@ -0,0 +1,244 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// maximum matching of a bipartite graph
+public final class BipartiteMatching {
+    private static final int INF = Integer.MAX_VALUE;
+
+    /**
+     * edges are taken as non-directed, every edge should join a left vertex and a right vertex
+     *
+     * @param graph   bipartite graph
+     * @param is_left side of each vertex
+     * @return mate of each vertex in the order of graph.getAllVertices(), -1 if unmatched
+     */
+    public static <V> int[] HopcroftKarp(@NotNull LinkedGraph<V> graph, @NotNull Predicate<V> is_left) {
+        return HopcroftKarp(graph, is_left, CancellationToken.NONE);
+    }
+
+    /**
+     * token is checked every phase
+     */
+    public static <V> int[] HopcroftKarp(@NotNull LinkedGraph<V> graph, @NotNull Predicate<V> is_left,
+                                         @NotNull CancellationToken token) {
+        var vertices = graph.getAllVertices();
+        int n = vertices.size();
+        Map<V, Integer> index_map = new HashMap<>(n * 2);
+        var left = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            index_map.put(vertices.get(i), i);
+            left[i] = is_left.test(vertices.get(i));
+        }
+        var sources = new int[16];
+        var targets = new int[16];
+        int m = 0;
+        for (var edge : graph.iterateEdges(true)) {
+            int u = index_map.get(edge.getFormerVertex());
+            int v = index_map.get(edge.getLaterVertex());
+            if (left[u] == left[v]) {
+                throw new IllegalArgumentException("edge inside one side: " + edge);
+            }
+            if (m == sources.length) {
+                sources = Arrays.copyOf(sources, m * 2);
+                targets = Arrays.copyOf(targets, m * 2);
+            }
+            sources[m] = left[u] ? u : v;
+            targets[m] = left[u] ? v : u;
+            m++;
+        }
+        var offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            offsets[sources[i] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        var adjacency = new int[m];
+        var fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < m; i++) {
+            adjacency[fill[sources[i]]++] = targets[i];
+        }
+        return match(offsets, adjacency, left, token);
+    }
+
+    /**
+     * only arcs leaving left vertices are used
+     *
+     * @param graph   bipartite graph
+     * @param is_left side of each vertex
+     * @return mate of each vertex, -1 if unmatched
+     */
+    public static int[] HopcroftKarp(@NotNull IndexedGraph graph, @NotNull boolean[] is_left) {
+        return HopcroftKarp(graph, is_left, CancellationToken.NONE);
+    }
+
+    /**
+     * token is checked every phase
+     */
+    public static int[] HopcroftKarp(@NotNull IndexedGraph graph, @NotNull boolean[] is_left,
+                                     @NotNull CancellationToken token) {
+        int n = graph.getVerticesCount();
+        if (is_left.length != n) {
+            throw new IllegalArgumentException("sides length mismatch");
+        }
+        var offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + (is_left[u] ? graph.degree(u) : 0);
+        }
+        var adjacency = new int[offsets[n]];
+        for (int u = 0; u < n; u++) {
+            if (!is_left[u]) {
+                continue;
+            }
+            for (int e = graph.begin(u), i = offsets[u]; e < graph.end(u); e++, i++) {
+                adjacency[i] = graph.target(e);
+                if (is_left[adjacency[i]]) {
+                    throw new IllegalArgumentException("arc inside left side: " + u + " -> " + adjacency[i]);
+                }
+            }
+        }
+        return match(offsets, adjacency, is_left.clone(), token);
+    }
+
+    /**
+     * @return number of matched pairs
+     */
+    public static int matchingSize(@NotNull int[] mate) {
+        int res = 0;
+        for (int v = 0; v < mate.length; v++) {
+            if (mate[v] > v) {
+                res++;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * O(E*sqrt(V)), each phase layers left vertices by bfs from the free ones and then
+     * augments a maximal set of vertex disjoint shortest paths by iterative dfs
+     */
+    private static int[] match(int[] offsets, int[] adjacency, boolean[] left, CancellationToken token) {
+        int n = left.length;
+        var mate = new int[n];
+        Arrays.fill(mate, -1);
+        int left_count = 0;
+        for (var l : left) {
+            if (l) {
+                left_count++;
+            }
+        }
+        var lefts = new int[left_count];
+        for (int u = 0, i = 0; u < n; u++) {
+            if (left[u]) {
+                lefts[i++] = u;
+            }
+        }
+        // greedy initial matching
+        for (var u : lefts) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = adjacency[e];
+                if (mate[v] == -1) {
+                    mate[u] = v;
+                    mate[v] = u;
+                    break;
+                }
+            }
+        }
+        var dist = new int[n];
+        var queue = new int[left_count];
+        var current = new int[n];
+        var stack = new int[left_count + 1];
+        while (true) {
+            token.throwIfCancelled();
+            int limit = layer(offsets, adjacency, lefts, mate, dist, queue);
+            if (limit == INF) {
+                return mate;
+            }
+            for (var u : lefts) {
+                current[u] = offsets[u];
+            }
+            for (var u : lefts) {
+                if (mate[u] == -1) {
+                    augment(u, limit, offsets, adjacency, mate, dist, current, stack);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return layer of the left vertices ending shortest augmenting paths, INF if there is none
+     */
+    private static int layer(int[] offsets, int[] adjacency, int[] lefts, int[] mate, int[] dist, int[] queue) {
+        int head = 0;
+        int tail = 0;
+        for (var u : lefts) {
+            if (mate[u] == -1) {
+                dist[u] = 0;
+                queue[tail++] = u;
+            }
+            else {
+                dist[u] = INF;
+            }
+        }
+        int limit = INF;
+        while (head < tail) {
+            int u = queue[head++];
+            if (dist[u] >= limit) {
+                break;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int w = mate[adjacency[e]];
+                if (w == -1) {
+                    limit = dist[u];
+                }
+                else if (dist[w] == INF) {
+                    dist[w] = dist[u] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return limit;
+    }
+
+    // dfs along layers with an explicit stack, current[x] is the arc being tried at x
+    private static void augment(int root, int limit, int[] offsets, int[] adjacency, int[] mate,
+                                int[] dist, int[] current, int[] stack) {
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int x = stack[top - 1];
+            if (current[x] == offsets[x + 1]) {
+                dist[x] = INF; // dead end for the rest of the phase
+                top--;
+                if (top > 0) {
+                    current[stack[top - 1]]++;
+                }
+                continue;
+            }
+            int v = adjacency[current[x]];
+            int w = mate[v];
+            if (w == -1 && dist[x] == limit) {
+                for (int i = top - 1; i >= 0; i--) {
+                    int y = stack[i];
+                    int z = adjacency[current[y]];
+                    mate[y] = z;
+                    mate[z] = y;
+                    current[y]++;
+                }
+                return;
+            }
+            if (w != -1 && dist[w] == dist[x] + 1 && dist[w] <= limit) {
+                stack[top++] = w;
+            }
+            else {
+                current[x]++;
+            }
+        }
+    }
+}
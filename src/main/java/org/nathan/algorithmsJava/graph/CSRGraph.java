@@ -0,0 +1,226 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+// compressed sparse row snapshot of a graph, vertices are relabeled to 0..n-1
+// arcs of vertex u are stored in [begin(u), end(u))
+// a non-directed edge is stored as two arcs, one at each side
+public final class CSRGraph<V> implements IndexedGraph {
+    private final int[] offsets; // length n + 1
+    private final int[] targets; // length m
+    private final double[] weights; // length m
+    private final List<V> vertices; // index -> vertex, null for int labeled graph
+    private Map<V, Integer> index_map = null;
+
+    /**
+     * int labeled graph, vertex i is i itself
+     *
+     * @param offsets arcs of vertex u are targets[offsets[u]..offsets[u+1])
+     * @param targets arc heads
+     * @param weights arc weights
+     */
+    public CSRGraph(@NotNull int[] offsets, @NotNull int[] targets, @NotNull double[] weights) {
+        this(offsets, targets, weights, null);
+    }
+
+    CSRGraph(int[] offsets, int[] targets, double[] weights, List<V> vertices) {
+        if (offsets.length == 0 || offsets[offsets.length - 1] != targets.length || targets.length != weights.length) {
+            throw new IllegalArgumentException("malformed csr arrays");
+        }
+        if (vertices != null && vertices.size() != offsets.length - 1) {
+            throw new IllegalArgumentException("vertices count mismatch");
+        }
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.vertices = vertices;
+    }
+
+    public static <V> CSRGraph<V> fromLinkedGraph(@NotNull LinkedGraph<V> graph) {
+        var vertices = graph.getAllVertices();
+        int n = vertices.size();
+        Map<V, Integer> index_map = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            index_map.put(vertices.get(i), i);
+        }
+        var offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + graph.getEdgesAt(vertices.get(i)).size();
+        }
+        var targets = new int[offsets[n]];
+        var weights = new double[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            var u = vertices.get(i);
+            int e = offsets[i];
+            for (var edge : graph.getEdgesAt(u)) {
+                targets[e] = index_map.get(edge.getAnotherSide(u));
+                weights[e] = edge.getWeight();
+                e++;
+            }
+        }
+        var res = new CSRGraph<>(offsets, targets, weights, List.copyOf(vertices));
+        res.index_map = index_map;
+        return res;
+    }
+
+    /**
+     * two pass count and fill, arcs of a vertex keep the order of edges
+     *
+     * @param vertices_count vertices are 0..vertices_count-1
+     * @param sources        edge sources
+     * @param targets        edge targets
+     * @param weights        edge weights, null for all 1
+     * @param directed       a non-directed edge is stored as two arcs
+     * @return int labeled graph
+     */
+    public static CSRGraph<Integer> fromEdges(int vertices_count,
+                                              @NotNull int[] sources,
+                                              @NotNull int[] targets,
+                                              double[] weights,
+                                              boolean directed) {
+        return fromEdges(vertices_count, sources, targets, weights, sources.length, directed);
+    }
+
+    static CSRGraph<Integer> fromEdges(int vertices_count, int[] sources, int[] targets, double[] weights,
+                                       int edges_count, boolean directed) {
+        if (vertices_count < 0) {
+            throw new IllegalArgumentException("vertices count should >= 0.");
+        }
+        if (targets.length < edges_count || sources.length < edges_count ||
+                (weights != null && weights.length < edges_count)) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+        long arcs_count = directed ? edges_count : 2L * edges_count;
+        if (arcs_count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many arcs");
+        }
+        var offsets = new int[vertices_count + 1];
+        for (int i = 0; i < edges_count; i++) {
+            Objects.checkIndex(sources[i], vertices_count);
+            Objects.checkIndex(targets[i], vertices_count);
+            offsets[sources[i] + 1]++;
+            if (!directed) {
+                offsets[targets[i] + 1]++;
+            }
+        }
+        for (int i = 0; i < vertices_count; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        var cursor = Arrays.copyOf(offsets, vertices_count);
+        var arc_targets = new int[(int) arcs_count];
+        var arc_weights = new double[(int) arcs_count];
+        for (int i = 0; i < edges_count; i++) {
+            double w = weights == null ? 1 : weights[i];
+            int e = cursor[sources[i]]++;
+            arc_targets[e] = targets[i];
+            arc_weights[e] = w;
+            if (!directed) {
+                e = cursor[targets[i]]++;
+                arc_targets[e] = sources[i];
+                arc_weights[e] = w;
+            }
+        }
+        return new CSRGraph<>(offsets, arc_targets, arc_weights);
+    }
+
+    /**
+     * relabel vertices, arcs of every vertex are sorted by new target index
+     *
+     * @param order order[new index] = old index, a permutation of 0..n-1
+     * @return relabeled graph, getVertex(new index) is the original vertex,
+     * the original index for int labeled graph
+     */
+    @SuppressWarnings("unchecked")
+    public CSRGraph<V> relabel(@NotNull int[] order) {
+        int n = getVerticesCount();
+        var rank = VertexOrdering.inverse(order);
+        if (rank.length != n) {
+            throw new IllegalArgumentException("order should be a permutation of vertices");
+        }
+        var new_offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            new_offsets[i + 1] = new_offsets[i] + degree(order[i]);
+        }
+        var new_targets = new int[targets.length];
+        var new_weights = new double[weights.length];
+        for (int i = 0; i < n; i++) {
+            int old = order[i];
+            int e = new_offsets[i];
+            for (int f = offsets[old]; f < offsets[old + 1]; f++, e++) {
+                new_targets[e] = rank[targets[f]];
+                new_weights[e] = weights[f];
+            }
+            ArcSort.byTarget(new_targets, new_weights, new_offsets[i], new_offsets[i + 1]);
+        }
+        List<V> new_vertices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            new_vertices.add(vertices == null ? (V) Integer.valueOf(order[i]) : vertices.get(order[i]));
+        }
+        return new CSRGraph<>(new_offsets, new_targets, new_weights, Collections.unmodifiableList(new_vertices));
+    }
+
+    @Override
+    public int getVerticesCount() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int getEdgesCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int begin(int u) {
+        return offsets[u];
+    }
+
+    @Override
+    public int end(int u) {
+        return offsets[u + 1];
+    }
+
+    @Override
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int target(int e) {
+        return targets[e];
+    }
+
+    @Override
+    public double weight(int e) {
+        return weights[e];
+    }
+
+    /**
+     * @param index vertex index
+     * @return original vertex, or the boxed index for int labeled graph
+     */
+    @SuppressWarnings("unchecked")
+    public V getVertex(int index) {
+        if (vertices == null) {
+            Objects.checkIndex(index, getVerticesCount());
+            return (V) Integer.valueOf(index);
+        }
+        return vertices.get(index);
+    }
+
+    public int indexOf(@NotNull V vertex) {
+        if (vertices == null) {
+            int index = (Integer) vertex;
+            return index >= 0 && index < getVerticesCount() ? index : -1;
+        }
+        if (index_map == null) {
+            Map<V, Integer> m = new HashMap<>(vertices.size() * 2);
+            for (int i = 0; i < vertices.size(); i++) {
+                m.put(vertices.get(i), i);
+            }
+            index_map = m;
+        }
+        return index_map.getOrDefault(vertex, -1);
+    }
+}
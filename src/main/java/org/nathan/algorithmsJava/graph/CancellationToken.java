@@ -0,0 +1,68 @@
+package org.nathan.algorithmsJava.graph;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * cooperative cancellation for long running algorithms, optionally with a deadline.
+ * algorithms call throwIfCancelled between coarse units of work (a pass, a pivot, a source),
+ * so a cancelled run ends with CancellationException and drops its buffers on the way out.
+ */
+public final class CancellationToken {
+    /**
+     * never cancelled
+     */
+    public static final CancellationToken NONE = new CancellationToken(Long.MAX_VALUE, false);
+    private final long deadline; // System.nanoTime() based
+    private final boolean has_deadline;
+    private volatile boolean cancelled = false;
+
+    private CancellationToken(long deadline, boolean has_deadline) {
+        this.deadline = deadline;
+        this.has_deadline = has_deadline;
+    }
+
+    /**
+     * @return token cancelled only by cancel()
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(Long.MAX_VALUE, false);
+    }
+
+    /**
+     * @return token also cancelled once the timeout passes
+     */
+    public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout should >= 0.");
+        }
+        return new CancellationToken(System.nanoTime() + unit.toNanos(timeout), true);
+    }
+
+    public void cancel() {
+        if (this == NONE) {
+            throw new UnsupportedOperationException("NONE can not be cancelled");
+        }
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || deadlineExceeded();
+    }
+
+    /**
+     * @throws CancellationException if cancelled or past the deadline
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("cancelled");
+        }
+        if (deadlineExceeded()) {
+            throw new CancellationException("deadline exceeded");
+        }
+    }
+
+    private boolean deadlineExceeded() {
+        return has_deadline && System.nanoTime() - deadline >= 0;
+    }
+}
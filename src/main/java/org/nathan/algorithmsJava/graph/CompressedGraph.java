@@ -0,0 +1,266 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * read only graph with compressed adjacency.
+ * arcs of a vertex are sorted by target and stored as one byte block:
+ * <pre>
+ *     varint degree, then per arc: varint gap [weight]
+ * </pre>
+ * gap of the first arc is the zigzag encoded target - u, later gaps are differences of consecutive targets.
+ * weights are dropped if they are all equal, else stored as exact doubles or 16 bits quantized over [min, max].
+ * arcs can only be read in order through ArcCursor.
+ */
+public final class CompressedGraph<V> implements IntGraph {
+    private static final int CONSTANT = 0;
+    private static final int QUANTIZED = 1;
+    private static final int EXACT = 2;
+    private static final int LEVELS = 65535;
+    private final int[] offsets; // vertex -> first byte of its block
+    private final byte[] data;
+    private final int weight_mode;
+    private final double min_weight;
+    private final double weight_step;
+    private final long edges_count;
+    private final List<V> vertices; // null for int labeled graph
+
+    private CompressedGraph(int[] offsets, byte[] data, int weight_mode, double min_weight, double weight_step,
+                            long edges_count, List<V> vertices) {
+        this.offsets = offsets;
+        this.data = data;
+        this.weight_mode = weight_mode;
+        this.min_weight = min_weight;
+        this.weight_step = weight_step;
+        this.edges_count = edges_count;
+        this.vertices = vertices;
+    }
+
+    /**
+     * @param quantize store weights in 16 bits, each weight is then off by at most (max - min) / 131070
+     */
+    public static <V> CompressedGraph<V> fromLinkedGraph(@NotNull LinkedGraph<V> graph, boolean quantize) {
+        var csr = CSRGraph.fromLinkedGraph(graph);
+        return build(csr, quantize, List.copyOf(graph.getAllVertices()));
+    }
+
+    /**
+     * @param quantize store weights in 16 bits, each weight is then off by at most (max - min) / 131070
+     */
+    public static CompressedGraph<Integer> fromIndexed(@NotNull IndexedGraph graph, boolean quantize) {
+        return build(graph, quantize, null);
+    }
+
+    private static <V> CompressedGraph<V> build(IndexedGraph graph, boolean quantize, List<V> vertices) {
+        int n = graph.getVerticesCount();
+        int m = graph.getEdgesCount();
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int e = 0; e < m; e++) {
+            min = Math.min(min, graph.weight(e));
+            max = Math.max(max, graph.weight(e));
+        }
+        int mode;
+        double step = 0;
+        if (m == 0 || min == max) {
+            mode = CONSTANT;
+        }
+        else if (quantize && Double.isFinite(max - min)) {
+            mode = QUANTIZED;
+            step = (max - min) / LEVELS;
+        }
+        else {
+            mode = EXACT;
+        }
+        var offsets = new int[n + 1];
+        var out = new Output(2L * m + n + 16);
+        var targets = new int[16];
+        var weights = new double[16];
+        for (int u = 0; u < n; u++) {
+            offsets[u] = out.size;
+            int degree = graph.degree(u);
+            if (degree > targets.length) {
+                targets = new int[Math.max(degree, targets.length * 2)];
+                weights = new double[targets.length];
+            }
+            for (int i = 0, e = graph.begin(u); i < degree; i++, e++) {
+                targets[i] = graph.target(e);
+                weights[i] = graph.weight(e);
+            }
+            ArcSort.byTarget(targets, weights, 0, degree);
+            out.putVarint(degree);
+            int previous = u;
+            for (int i = 0; i < degree; i++) {
+                if (i == 0) {
+                    int delta = targets[0] - u;
+                    out.putVarint((delta << 1) ^ (delta >> 31));
+                }
+                else {
+                    out.putVarint(targets[i] - previous);
+                }
+                previous = targets[i];
+                if (mode == QUANTIZED) {
+                    int q = (int) Math.round((weights[i] - min) / step);
+                    out.putByte(q);
+                    out.putByte(q >>> 8);
+                }
+                else if (mode == EXACT) {
+                    out.putLong(Double.doubleToRawLongBits(weights[i]));
+                }
+            }
+        }
+        offsets[n] = out.size;
+        return new CompressedGraph<>(offsets, Arrays.copyOf(out.data, out.size), mode,
+                m > 0 ? min : 1, step, m, vertices);
+    }
+
+    @Override
+    public int getVerticesCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return number of arcs, non-directed edge is counted twice
+     */
+    public long getEdgesCount() {
+        return edges_count;
+    }
+
+    @Override
+    public int degree(int u) {
+        int pos = offsets[u];
+        int res = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = data[pos++];
+            res |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return res;
+            }
+        }
+    }
+
+    /**
+     * @return bytes held by adjacency arrays
+     */
+    public long memoryBytes() {
+        return (long) offsets.length * Integer.BYTES + data.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getVertex(int index) {
+        if (vertices == null) {
+            Objects.checkIndex(index, getVerticesCount());
+            return (V) Integer.valueOf(index);
+        }
+        return vertices.get(index);
+    }
+
+    @Override
+    public ArcCursor newCursor() {
+        return new Cursor();
+    }
+
+    private final class Cursor implements ArcCursor {
+        private int pos;
+        private int remaining = 0;
+        private int previous;
+        private boolean first;
+        private double weight;
+
+        @Override
+        public void reset(int u) {
+            pos = offsets[u];
+            remaining = readVarint();
+            previous = u;
+            first = true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int next() {
+            int gap = readVarint();
+            if (first) {
+                previous += (gap >>> 1) ^ -(gap & 1);
+                first = false;
+            }
+            else {
+                previous += gap;
+            }
+            if (weight_mode == QUANTIZED) {
+                int q = (data[pos] & 0xff) | ((data[pos + 1] & 0xff) << 8);
+                pos += 2;
+                weight = min_weight + q * weight_step;
+            }
+            else if (weight_mode == EXACT) {
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits |= (data[pos + i] & 0xffL) << (8 * i);
+                }
+                pos += 8;
+                weight = Double.longBitsToDouble(bits);
+            }
+            else {
+                weight = min_weight;
+            }
+            remaining--;
+            return previous;
+        }
+
+        @Override
+        public double weight() {
+            return weight;
+        }
+
+        private int readVarint() {
+            int res = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[pos++];
+                res |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return res;
+                }
+            }
+        }
+    }
+
+    private static final class Output {
+        byte[] data;
+        int size = 0;
+
+        Output(long capacity) {
+            data = new byte[(int) Math.min(Math.max(capacity, 16), Integer.MAX_VALUE - 8)];
+        }
+
+        void putByte(int b) {
+            if (size == data.length) {
+                if (size == Integer.MAX_VALUE - 8) {
+                    throw new IllegalArgumentException("compressed adjacency exceeds 2GB");
+                }
+                data = Arrays.copyOf(data, (int) Math.min(size * 2L, Integer.MAX_VALUE - 8));
+            }
+            data[size++] = (byte) b;
+        }
+
+        void putVarint(int v) {
+            while ((v & ~0x7f) != 0) {
+                putByte((v & 0x7f) | 0x80);
+                v >>>= 7;
+            }
+            putByte(v);
+        }
+
+        void putLong(long v) {
+            for (int i = 0; i < 8; i++) {
+                putByte((int) (v >>> (8 * i)));
+            }
+        }
+    }
+}
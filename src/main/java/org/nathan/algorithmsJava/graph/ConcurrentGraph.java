@@ -0,0 +1,271 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * mutable graph for ingestion from many threads.
+ * vertex registration is one ConcurrentHashMap operation, every vertex gets an int id in order of registration.
+ * every vertex owns its adjacency arrays and lock, so appends to different vertices never contend.
+ * build a CSRGraph or LinkedGraph snapshot afterwards to run algorithms.
+ */
+public final class ConcurrentGraph<V> {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 1 << (31 - CHUNK_BITS);
+    private final boolean directed;
+    private final ConcurrentHashMap<V, Slot<V>> slot_map = new ConcurrentHashMap<>();
+    // id -> slot, chunks of CHUNK_SIZE slots. the table is grown and chunks are added under chunk_lock
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Slot<V>>> chunks = new AtomicReferenceArray<>(16);
+    private final Object chunk_lock = new Object();
+    private final AtomicInteger next_id = new AtomicInteger();
+    private final LongAdder edges_count = new LongAdder();
+
+    public ConcurrentGraph(boolean directed) {
+        this.directed = directed;
+    }
+
+    /**
+     * @throws IllegalArgumentException if vertex is already registered
+     */
+    public int addNewVertex(@NotNull V vertex) {
+        var created = new boolean[1];
+        var slot = slot_map.computeIfAbsent(vertex, k -> {
+            created[0] = true;
+            return register(k);
+        });
+        if (!created[0]) {
+            throw new IllegalArgumentException("repeated vertex");
+        }
+        return slot.id;
+    }
+
+    /**
+     * @return id of vertex, registered if absent
+     */
+    public int addVertexIfAbsent(@NotNull V vertex) {
+        var slot = slot_map.get(vertex);
+        if (slot == null) {
+            slot = slot_map.computeIfAbsent(vertex, this::register);
+        }
+        return slot.id;
+    }
+
+    /**
+     * @return id of vertex, -1 if absent
+     */
+    public int indexOf(@NotNull V vertex) {
+        var slot = slot_map.get(vertex);
+        return slot == null ? -1 : slot.id;
+    }
+
+    public void setNeighbor(@NotNull V vertex, @NotNull V neighbor) {
+        setNeighbor(vertex, neighbor, 1);
+    }
+
+    public void setNeighbor(@NotNull V vertex, @NotNull V neighbor, double w) {
+        var u = slot_map.get(vertex);
+        var v = slot_map.get(neighbor);
+        if (u == null || v == null) {
+            throw new IllegalArgumentException("unregistered vertex");
+        }
+        if (directed) {
+            u.append(v.id, w);
+        }
+        else if (u == v) {
+            u.appendLoop(w);
+        }
+        else {
+            u.append(v.id, w);
+            v.append(u.id, w);
+        }
+        edges_count.increment();
+    }
+
+    public int getVerticesCount() {
+        return next_id.get();
+    }
+
+    /**
+     * @return number of setNeighbor calls
+     */
+    public long getEdgesCount() {
+        return edges_count.sum();
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * weakly consistent while writers are running: every vertex list is copied atomically,
+     * arcs to vertices registered after the copy started are left out
+     */
+    public CSRGraph<V> toCSR() {
+        int n = next_id.get();
+        var vertices = new ArrayList<V>(n);
+        var adjacency_targets = new int[n][];
+        var adjacency_weights = new double[n][];
+        var offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            var slot = slotAt(i);
+            vertices.add(slot.vertex);
+            synchronized (slot) {
+                adjacency_targets[i] = Arrays.copyOf(slot.targets, slot.size);
+                adjacency_weights[i] = Arrays.copyOf(slot.weights, slot.size);
+            }
+            int count = 0;
+            for (var t : adjacency_targets[i]) {
+                if (t < n) {
+                    count++;
+                }
+            }
+            if ((long) offsets[i] + count > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("too many arcs");
+            }
+            offsets[i + 1] = offsets[i] + count;
+        }
+        var targets = new int[offsets[n]];
+        var weights = new double[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int e = offsets[i];
+            var ts = adjacency_targets[i];
+            var ws = adjacency_weights[i];
+            for (int j = 0; j < ts.length; j++) {
+                if (ts[j] < n) {
+                    targets[e] = ts[j];
+                    weights[e] = ws[j];
+                    e++;
+                }
+            }
+            adjacency_targets[i] = null;
+            adjacency_weights[i] = null;
+        }
+        return new CSRGraph<>(offsets, targets, weights, vertices);
+    }
+
+    /**
+     * writers should be stopped
+     */
+    public LinkedGraph<V> toLinkedGraph() {
+        int n = next_id.get();
+        List<V> vertices = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            vertices.add(slotAt(i).vertex);
+        }
+        var graph = new LinkedGraph<>(vertices, directed ? LinkedGraph.Direction.DIRECTED :
+                LinkedGraph.Direction.NON_DIRECTED);
+        for (int i = 0; i < n; i++) {
+            var slot = slotAt(i);
+            synchronized (slot) {
+                int loops = 0;
+                for (int j = 0; j < slot.size; j++) {
+                    int t = slot.targets[j];
+                    // a non-directed edge sits in both lists and a loop twice in one list, add it once
+                    if (t < n && (directed || i < t || (i == t && loops++ % 2 == 0))) {
+                        graph.setNeighbor(slot.vertex, vertices.get(t), slot.weights[j]);
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    // called inside computeIfAbsent, so the slot is stored before its vertex becomes visible.
+    // the chunk and slot are allocated before the id is taken, so a taken id always gets its slot and slotAt ends
+    private Slot<V> register(V vertex) {
+        while (true) {
+            int id = next_id.get();
+            if (id == Integer.MAX_VALUE) {
+                throw new IllegalStateException("too many vertices");
+            }
+            var chunk = chunkOf(id >>> CHUNK_BITS);
+            var slot = new Slot<>(id, vertex);
+            if (next_id.compareAndSet(id, id + 1)) {
+                chunk.set(id & (CHUNK_SIZE - 1), slot);
+                return slot;
+            }
+        }
+    }
+
+    // chunk c, created if absent. the table is copied only when it grows, by doubling
+    private AtomicReferenceArray<Slot<V>> chunkOf(int c) {
+        var table = chunks;
+        if (c < table.length()) {
+            var chunk = table.get(c);
+            if (chunk != null) {
+                return chunk;
+            }
+        }
+        synchronized (chunk_lock) {
+            table = chunks;
+            if (c >= table.length()) {
+                var grown = new AtomicReferenceArray<AtomicReferenceArray<Slot<V>>>(
+                        Math.min(Math.max(c + 1, table.length() * 2), MAX_CHUNKS));
+                for (int i = 0; i < table.length(); i++) {
+                    grown.set(i, table.get(i));
+                }
+                chunks = table = grown;
+            }
+            var chunk = table.get(c);
+            if (chunk == null) {
+                chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+                table.set(c, chunk);
+            }
+            return chunk;
+        }
+    }
+
+    private Slot<V> slotAt(int id) {
+        int c = id >>> CHUNK_BITS;
+        while (true) {
+            var table = chunks;
+            if (c < table.length()) {
+                var chunk = table.get(c);
+                if (chunk != null) {
+                    var slot = chunk.get(id & (CHUNK_SIZE - 1));
+                    if (slot != null) {
+                        return slot;
+                    }
+                }
+            }
+            Thread.onSpinWait(); // id is taken but the registering thread has not stored the slot yet
+        }
+    }
+
+    private static final class Slot<V> {
+        final int id;
+        final V vertex;
+        int[] targets = new int[4];
+        double[] weights = new double[4];
+        int size = 0;
+
+        Slot(int id, V vertex) {
+            this.id = id;
+            this.vertex = vertex;
+        }
+
+        synchronized void append(int target, double w) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            targets[size] = target;
+            weights[size] = w;
+            size++;
+        }
+
+        // non-directed loop, both arcs are adjacent
+        synchronized void appendLoop(double w) {
+            append(id, w);
+            append(id, w);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// parallel connected components of a non-directed graph, see Sutton et al. Afforest
+// the graph should store every edge as two arcs, as CSRGraph does for non-directed edges
+// comp forms a forest where a parent is always smaller than its child, roots are hooked
+// under the smaller root by CAS (Shiloach-Vishkin hooking) and trees are flattened in parallel
+public final class ConnectedComponents {
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+    private static final int CHECK_INTERVAL = 1 << 12;
+
+    /**
+     * link every vertex with its first two neighbors, which usually merges most of the graph
+     * into one big component, then skip members of the biggest component and link the rest
+     * of the arcs. arcs of the skipped vertices are still seen from their other side.
+     *
+     * @return label of each vertex, labels are 0..components-1 in order of first appearance
+     */
+    public static int[] afforest(@NotNull IndexedGraph G) {
+        return afforest(G, CancellationToken.NONE);
+    }
+
+    /**
+     * token is checked every round, and every CHECK_INTERVAL vertices of the final linking pass
+     */
+    public static int[] afforest(@NotNull IndexedGraph G, @NotNull CancellationToken token) {
+        int n = G.getVerticesCount();
+        var comp = new AtomicIntegerArray(n);
+        IntStream.range(0, n).parallel().forEach(u -> comp.set(u, u));
+        for (int r = 0; r < NEIGHBOR_ROUNDS; r++) {
+            token.throwIfCancelled();
+            int round = r;
+            IntStream.range(0, n).parallel().forEach(u -> {
+                int e = G.begin(u) + round;
+                if (e < G.end(u)) {
+                    link(comp, u, G.target(e));
+                }
+            });
+            compress(comp);
+        }
+        token.throwIfCancelled();
+        int largest = sampleFrequentRoot(comp);
+        IntStream.range(0, n).parallel().forEach(u -> {
+            if (u % CHECK_INTERVAL == 0) {
+                token.throwIfCancelled();
+            }
+            if (comp.get(u) == largest) {
+                return;
+            }
+            for (int e = G.begin(u) + NEIGHBOR_ROUNDS, end = G.end(u); e < end; e++) {
+                link(comp, u, G.target(e));
+            }
+        });
+        compress(comp);
+        var roots = new int[n];
+        IntStream.range(0, n).parallel().forEach(u -> roots[u] = comp.get(u));
+        return compact(roots);
+    }
+
+    /**
+     * @return number of components of a label array returned by afforest
+     */
+    public static int count(@NotNull int[] labels) {
+        int max = -1;
+        for (var label : labels) {
+            max = Math.max(max, label);
+        }
+        return max + 1;
+    }
+
+    private static void link(AtomicIntegerArray comp, int u, int v) {
+        int p1 = comp.get(u);
+        int p2 = comp.get(v);
+        while (p1 != p2) {
+            int high = Math.max(p1, p2);
+            int low = Math.min(p1, p2);
+            int p_high = comp.get(high);
+            if (p_high == low || (p_high == high && comp.compareAndSet(high, high, low))) {
+                return;
+            }
+            p1 = comp.get(comp.get(high));
+            p2 = comp.get(low);
+        }
+    }
+
+    private static void compress(AtomicIntegerArray comp) {
+        IntStream.range(0, comp.length()).parallel().forEach(u -> {
+            int p;
+            while ((p = comp.get(u)) != comp.get(p)) {
+                comp.set(u, comp.get(p));
+            }
+        });
+    }
+
+    private static int sampleFrequentRoot(AtomicIntegerArray comp) {
+        int n = comp.length();
+        if (n == 0) {
+            return -1;
+        }
+        var rand = new Random(n);
+        var samples = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = comp.get(rand.nextInt(n));
+        }
+        Arrays.sort(samples);
+        int best = samples[0];
+        int best_count = 0;
+        for (int i = 0; i < SAMPLES; ) {
+            int j = i;
+            while (j < SAMPLES && samples[j] == samples[i]) {
+                j++;
+            }
+            if (j - i > best_count) {
+                best_count = j - i;
+                best = samples[i];
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    private static int[] compact(int[] roots) {
+        int n = roots.length;
+        var root_label = new int[n];
+        Arrays.fill(root_label, -1);
+        int next = 0;
+        for (int u = 0; u < n; u++) {
+            if (root_label[roots[u]] == -1) {
+                root_label[roots[u]] = next++;
+            }
+            roots[u] = root_label[roots[u]];
+        }
+        return roots;
+    }
+}
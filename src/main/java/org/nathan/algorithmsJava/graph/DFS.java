@@ -1,8 +1,10 @@
 package org.nathan.algorithmsJava.graph;
 
 import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
@@ -40,6 +42,74 @@ public final class DFS {
         return time;
     }
 
+    /**
+     * iterative, every stack frame keeps its own cursor, so deep graphs do not overflow the call stack
+     *
+     * @param G graph
+     * @return discover time, finish time and parent of every vertex
+     */
+    public static Forest depthFirstSearch(@NotNull IntGraph G) {
+        return depthFirstSearch(G, AlgorithmMetrics.NONE);
+    }
+
+    /**
+     * reports visits, arcs scanned and the peak stack depth as queue size
+     */
+    public static Forest depthFirstSearch(@NotNull IntGraph G, @NotNull AlgorithmMetrics metrics) {
+        int n = G.getVerticesCount();
+        var forest = new Forest(n);
+        var stack = new int[Math.max(n, 1)];
+        var cursors = new ArcCursor[Math.min(Math.max(n, 1), 64)];
+        int time = 0;
+        for (int s = 0; s < n; s++) {
+            if (forest.discover[s] != 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = s;
+            forest.discover[s] = ++time;
+            metrics.vertexVisited();
+            metrics.queueSize(1);
+            cursorAt(cursors, 0, G).reset(s);
+            while (top >= 0) {
+                int u = stack[top];
+                var cursor = cursors[top];
+                int v = -1;
+                while (cursor.hasNext()) {
+                    int t = cursor.next();
+                    metrics.edgeScanned();
+                    if (forest.discover[t] == 0) {
+                        v = t;
+                        break;
+                    }
+                }
+                if (v == -1) {
+                    forest.finish[u] = ++time;
+                    top--;
+                }
+                else {
+                    forest.parent[v] = u;
+                    forest.discover[v] = ++time;
+                    stack[++top] = v;
+                    metrics.vertexVisited();
+                    metrics.queueSize(top + 1);
+                    if (top == cursors.length) {
+                        cursors = Arrays.copyOf(cursors, Math.min(cursors.length * 2, n));
+                    }
+                    cursorAt(cursors, top, G).reset(v);
+                }
+            }
+        }
+        return forest;
+    }
+
+    private static ArcCursor cursorAt(ArcCursor[] cursors, int depth, IntGraph G) {
+        if (cursors[depth] == null) {
+            cursors[depth] = G.newCursor();
+        }
+        return cursors[depth];
+    }
+
     public static <T> List<DFSVertex<T>> topologicalSort(@NotNull LinkedGraph<DFSVertex<T>> G) {
         depthFirstSearch(G);
         List<DFSVertex<T>> l = new ArrayList<>(G.getAllVertices());
@@ -80,6 +150,32 @@ public final class DFS {
         return new_graph;
     }
 
+    // depth first forest of an int graph, times start from 1
+    public static final class Forest {
+        final int[] discover;
+        final int[] finish;
+        final int[] parent;
+
+        Forest(int n) {
+            discover = new int[n];
+            finish = new int[n];
+            parent = new int[n];
+            Arrays.fill(parent, -1);
+        }
+
+        public int getDiscover(int v) {
+            return discover[v];
+        }
+
+        public int getFinish(int v) {
+            return finish[v];
+        }
+
+        public int getParent(int v) {
+            return parent[v];
+        }
+    }
+
     enum COLOR {WHITE, GRAY, BLACK}
 
     public static class DFSVertex<V> {
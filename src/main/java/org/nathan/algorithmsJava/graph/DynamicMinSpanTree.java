@@ -0,0 +1,189 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.nathan.algorithmsJava.structures.LinkCutTree;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * minimum spanning forest maintained under edge insertion and weight decrease, both amortized O(lgV).
+ * vertices are 0..n-1, every edge is a link-cut tree node between its two vertices,
+ * so the heaviest edge on a tree path is a path maximum query.
+ * <br>
+ * weights only go down: a heavier tree edge would need a search for the lightest replacement across the cut,
+ * which has no polylog bound without a fully dynamic connectivity structure. rebuild to raise weights.
+ */
+public final class DynamicMinSpanTree {
+    private final int vertices_count;
+    private final LinkCutTree forest;
+    private int[] former;
+    private int[] later;
+    private double[] weights;
+    private boolean[] in_tree;
+    private int edges_count = 0;
+    private int tree_edges_count = 0;
+    private double total_weight = 0;
+
+    public DynamicMinSpanTree(int vertices_count) {
+        if (vertices_count < 0) {
+            throw new IllegalArgumentException("vertices count should >= 0.");
+        }
+        this.vertices_count = vertices_count;
+        forest = new LinkCutTree(vertices_count * 2 + 1);
+        for (int i = 0; i < vertices_count; i++) {
+            forest.addNode(Double.NEGATIVE_INFINITY);
+        }
+        int capacity = Math.max(vertices_count, 4);
+        former = new int[capacity];
+        later = new int[capacity];
+        weights = new double[capacity];
+        in_tree = new boolean[capacity];
+    }
+
+    /**
+     * amortized O(lgV)
+     *
+     * @return id of the new edge
+     */
+    public int insertEdge(int u, int v, double w) {
+        Objects.checkIndex(u, vertices_count);
+        Objects.checkIndex(v, vertices_count);
+        if (edges_count == former.length) {
+            grow();
+        }
+        int e = edges_count++;
+        former[e] = u;
+        later[e] = v;
+        weights[e] = w;
+        forest.addNode(w);
+        offer(e);
+        return e;
+    }
+
+    /**
+     * amortized O(lgV). a lighter tree edge stays in the forest,
+     * a lighter non-tree edge replaces the heaviest edge of its cycle if that one is now heavier
+     *
+     * @param w new weight, should not exceed the current one
+     */
+    public void decreaseWeight(int e, double w) {
+        Objects.checkIndex(e, edges_count);
+        var old = weights[e];
+        if (w > old) {
+            throw new IllegalArgumentException("new weight is larger than the current one");
+        }
+        weights[e] = w;
+        forest.setValue(node(e), w);
+        if (in_tree[e]) {
+            total_weight += w - old;
+        }
+        else {
+            offer(e);
+        }
+    }
+
+    /**
+     * O(1)
+     *
+     * @return total weight of the current minimum spanning forest
+     */
+    public double getTotalWeight() {
+        return total_weight;
+    }
+
+    public int getVerticesCount() {
+        return vertices_count;
+    }
+
+    public int getEdgesCount() {
+        return edges_count;
+    }
+
+    public int getTreeEdgesCount() {
+        return tree_edges_count;
+    }
+
+    public boolean isTreeEdge(int e) {
+        Objects.checkIndex(e, edges_count);
+        return in_tree[e];
+    }
+
+    public int getFormerVertex(int e) {
+        Objects.checkIndex(e, edges_count);
+        return former[e];
+    }
+
+    public int getLaterVertex(int e) {
+        Objects.checkIndex(e, edges_count);
+        return later[e];
+    }
+
+    public double getWeight(int e) {
+        Objects.checkIndex(e, edges_count);
+        return weights[e];
+    }
+
+    public boolean connected(int u, int v) {
+        return forest.connected(u, v);
+    }
+
+    /**
+     * @return ids of edges in the current minimum spanning forest
+     */
+    public int[] getTreeEdges() {
+        var res = new int[tree_edges_count];
+        int idx = 0;
+        for (int e = 0; e < edges_count; e++) {
+            if (in_tree[e]) {
+                res[idx++] = e;
+            }
+        }
+        return res;
+    }
+
+    private void offer(int e) {
+        int u = former[e];
+        int v = later[e];
+        if (u == v) {
+            return;
+        }
+        if (!forest.connected(u, v)) {
+            linkEdge(e);
+        }
+        else {
+            int f = forest.pathMax(u, v) - vertices_count; // heaviest edge on the induced cycle
+            if (weights[f] > weights[e]) {
+                cutEdge(f);
+                linkEdge(e);
+            }
+        }
+    }
+
+    private void linkEdge(int e) {
+        forest.link(former[e], node(e));
+        forest.link(node(e), later[e]);
+        in_tree[e] = true;
+        tree_edges_count++;
+        total_weight += weights[e];
+    }
+
+    private void cutEdge(int e) {
+        forest.cut(former[e], node(e));
+        forest.cut(node(e), later[e]);
+        in_tree[e] = false;
+        tree_edges_count--;
+        total_weight -= weights[e];
+    }
+
+    private int node(int e) {
+        return vertices_count + e;
+    }
+
+    private void grow() {
+        int capacity = former.length * 2;
+        former = Arrays.copyOf(former, capacity);
+        later = Arrays.copyOf(later, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        in_tree = Arrays.copyOf(in_tree, capacity);
+    }
+}
@@ -0,0 +1,302 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.structures.IndexedDAryHeap;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * single source shortest paths over a directed graph kept up to date under edge insertion and reweighting,
+ * see Ramalingam and Reps. weights should be non-negative.
+ * <br>
+ * a lighter edge starts a dijkstra from its head that only visits vertices getting closer.
+ * a heavier tree edge marks the subtree below it, every marked vertex takes its best arc from an unmarked vertex,
+ * then a dijkstra runs inside the marked set. both cost O(affected arcs * lgV).
+ */
+public final class DynamicShortestPaths {
+    private final int vertices_count;
+    private final int source;
+    private final double[] distance;
+    private final int[] parent_edge; // edge into v on its shortest path, -1 for source and unreachable
+    private final int[][] out_edges;
+    private final int[] out_count;
+    private final int[][] in_edges;
+    private final int[] in_count;
+    private final IndexedDAryHeap Q;
+    private final boolean[] affected;
+    private final int[] affected_list;
+    private int[] former;
+    private int[] later;
+    private double[] weights;
+    private int edges_count = 0;
+    private int last_repair_size = 0;
+
+    /**
+     * arc e of the graph becomes edge e
+     *
+     * @param graph directed graph
+     * @param tree  shortest path tree of graph, e.g. by SSShortestPath.DijkstraDAryHeap
+     */
+    public DynamicShortestPaths(@NotNull IndexedGraph graph, @NotNull ShortestPathTree tree) {
+        vertices_count = graph.getVerticesCount();
+        if (tree.getVerticesCount() != vertices_count) {
+            throw new IllegalArgumentException("tree does not match graph");
+        }
+        source = tree.getSource();
+        distance = tree.getDistances();
+        parent_edge = new int[vertices_count];
+        out_edges = new int[vertices_count][];
+        out_count = new int[vertices_count];
+        in_edges = new int[vertices_count][];
+        in_count = new int[vertices_count];
+        for (int u = 0; u < vertices_count; u++) {
+            out_edges[u] = new int[Math.max(graph.degree(u), 2)];
+            in_edges[u] = new int[2];
+        }
+        int capacity = Math.max(graph.getEdgesCount(), 4);
+        former = new int[capacity];
+        later = new int[capacity];
+        weights = new double[capacity];
+        for (int u = 0; u < vertices_count; u++) {
+            for (int e = graph.begin(u), end = graph.end(u); e < end; e++) {
+                addEdge(u, graph.target(e), graph.weight(e));
+            }
+        }
+        for (int v = 0; v < vertices_count; v++) {
+            parent_edge[v] = -1;
+            int p = tree.getParent(v);
+            if (p == -1) {
+                continue;
+            }
+            for (int i = 0; i < out_count[p]; i++) {
+                int e = out_edges[p][i];
+                if (later[e] == v && distance[p] + weights[e] == distance[v]) {
+                    parent_edge[v] = e;
+                    break;
+                }
+            }
+            if (parent_edge[v] == -1) {
+                throw new IllegalArgumentException("tree does not match graph at vertex " + v);
+            }
+        }
+        Q = new IndexedDAryHeap(vertices_count);
+        affected = new boolean[vertices_count];
+        affected_list = new int[vertices_count];
+    }
+
+    /**
+     * @return id of the new edge
+     */
+    public int insertEdge(int u, int v, double w) {
+        Objects.checkIndex(u, vertices_count);
+        Objects.checkIndex(v, vertices_count);
+        checkWeight(w);
+        int e = addEdge(u, v, w);
+        last_repair_size = 0;
+        if (distance[u] + w < distance[v]) {
+            decrease(e);
+        }
+        return e;
+    }
+
+    /**
+     * @param w new weight, positive infinity works as deletion
+     */
+    public void updateWeight(int e, double w) {
+        Objects.checkIndex(e, edges_count);
+        checkWeight(w);
+        double old = weights[e];
+        weights[e] = w;
+        last_repair_size = 0;
+        if (w < old) {
+            if (distance[former[e]] + w < distance[later[e]]) {
+                decrease(e);
+            }
+        }
+        else if (w > old && parent_edge[later[e]] == e) {
+            increase(later[e]);
+        }
+    }
+
+    /**
+     * applies updateWeight(edges[i], new_weights[i]) in order, token is checked before every change.
+     * a single repair is never interrupted, so on cancellation the changes made so far stay applied
+     * and the tree is consistent with them.
+     * getLastRepairSize afterwards sums the repairs of the batch
+     */
+    public void updateWeights(@NotNull int[] edges, @NotNull double[] new_weights, @NotNull CancellationToken token) {
+        if (edges.length != new_weights.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+        for (int i = 0; i < edges.length; i++) {
+            Objects.checkIndex(edges[i], edges_count);
+            checkWeight(new_weights[i]);
+        }
+        int repaired = 0;
+        try {
+            for (int i = 0; i < edges.length; i++) {
+                token.throwIfCancelled();
+                updateWeight(edges[i], new_weights[i]);
+                repaired += last_repair_size;
+            }
+        }
+        finally {
+            last_repair_size = repaired;
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getVerticesCount() {
+        return vertices_count;
+    }
+
+    public int getEdgesCount() {
+        return edges_count;
+    }
+
+    public double getWeight(int e) {
+        Objects.checkIndex(e, edges_count);
+        return weights[e];
+    }
+
+    public double getDistance(int v) {
+        return distance[v];
+    }
+
+    public int getParent(int v) {
+        return parent_edge[v] == -1 ? -1 : former[parent_edge[v]];
+    }
+
+    /**
+     * @return number of vertices whose distance was recomputed by the last change
+     */
+    public int getLastRepairSize() {
+        return last_repair_size;
+    }
+
+    /**
+     * @return copy of the current tree
+     */
+    public ShortestPathTree toTree() {
+        var parent = new int[vertices_count];
+        for (int v = 0; v < vertices_count; v++) {
+            parent[v] = getParent(v);
+        }
+        return new ShortestPathTree(source, distance.clone(), parent);
+    }
+
+    // edge e got lighter and now shortens the path to its head
+    private void decrease(int e) {
+        int v = later[e];
+        distance[v] = distance[former[e]] + weights[e];
+        parent_edge[v] = e;
+        Q.insert(v, distance[v]);
+        while (!Q.isEmpty()) {
+            int x = Q.extractMin();
+            last_repair_size++;
+            for (int i = 0; i < out_count[x]; i++) {
+                int f = out_edges[x][i];
+                int y = later[f];
+                double sum = distance[x] + weights[f];
+                if (sum < distance[y]) {
+                    distance[y] = sum;
+                    parent_edge[y] = f;
+                    if (Q.contains(y)) {
+                        Q.decreaseKey(y, sum);
+                    }
+                    else {
+                        Q.insert(y, sum);
+                    }
+                }
+            }
+        }
+    }
+
+    // tree edge into root got heavier, every vertex below root may get farther
+    private void increase(int root) {
+        int count = 0;
+        affected[root] = true;
+        affected_list[count++] = root;
+        for (int head = 0; head < count; head++) {
+            int x = affected_list[head];
+            for (int i = 0; i < out_count[x]; i++) {
+                int f = out_edges[x][i];
+                int y = later[f];
+                if (parent_edge[y] == f && !affected[y]) {
+                    affected[y] = true;
+                    affected_list[count++] = y;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            int x = affected_list[i];
+            distance[x] = Double.POSITIVE_INFINITY;
+            parent_edge[x] = -1;
+            for (int j = 0; j < in_count[x]; j++) {
+                int f = in_edges[x][j];
+                int p = former[f];
+                if (!affected[p] && distance[p] + weights[f] < distance[x]) {
+                    distance[x] = distance[p] + weights[f];
+                    parent_edge[x] = f;
+                }
+            }
+            if (distance[x] < Double.POSITIVE_INFINITY) {
+                Q.insert(x, distance[x]);
+            }
+        }
+        while (!Q.isEmpty()) {
+            int x = Q.extractMin();
+            for (int i = 0; i < out_count[x]; i++) {
+                int f = out_edges[x][i];
+                int y = later[f];
+                double sum = distance[x] + weights[f];
+                if (affected[y] && sum < distance[y]) {
+                    distance[y] = sum;
+                    parent_edge[y] = f;
+                    if (Q.contains(y)) {
+                        Q.decreaseKey(y, sum);
+                    }
+                    else {
+                        Q.insert(y, sum);
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            affected[affected_list[i]] = false;
+        }
+        last_repair_size = count;
+    }
+
+    private int addEdge(int u, int v, double w) {
+        if (edges_count == former.length) {
+            int capacity = former.length * 2;
+            former = Arrays.copyOf(former, capacity);
+            later = Arrays.copyOf(later, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        int e = edges_count++;
+        former[e] = u;
+        later[e] = v;
+        weights[e] = w;
+        if (out_count[u] == out_edges[u].length) {
+            out_edges[u] = Arrays.copyOf(out_edges[u], out_count[u] * 2);
+        }
+        out_edges[u][out_count[u]++] = e;
+        if (in_count[v] == in_edges[v].length) {
+            in_edges[v] = Arrays.copyOf(in_edges[v], in_count[v] * 2);
+        }
+        in_edges[v][in_count[v]++] = e;
+        return e;
+    }
+
+    private static void checkWeight(double w) {
+        if (!(w >= 0)) {
+            throw new IllegalArgumentException("weight should >= 0.");
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// load text edge list, one "u v [w]" per line, vertices are non-negative ints
+// separators are space, tab or comma, lines starting with # or % are comments
+// the file is memory mapped and split into chunks at line ends, chunks are parsed in parallel
+// straight from the mapped bytes into primitive arrays
+public final class EdgeListLoader {
+    private static final long MAX_CHUNK_BYTES = 1 << 30;
+
+    public static CSRGraph<Integer> loadCSR(@NotNull Path path, boolean directed) {
+        var edges = parse(path, Runtime.getRuntime().availableProcessors());
+        return CSRGraph.fromEdges(edges.vertices_count, edges.sources, edges.targets,
+                edges.weights, edges.edges_count, directed);
+    }
+
+    /**
+     * @param vertex_factory builds vertex i of the graph
+     */
+    public static <V> LinkedGraph<V> loadLinkedGraph(@NotNull Path path,
+                                                     boolean directed,
+                                                     @NotNull IntFunction<V> vertex_factory) {
+        var edges = parse(path, Runtime.getRuntime().availableProcessors());
+        var vertices = new ArrayList<V>(edges.vertices_count);
+        for (int i = 0; i < edges.vertices_count; i++) {
+            vertices.add(vertex_factory.apply(i));
+        }
+        var graph = new LinkedGraph<>(vertices, directed ? LinkedGraph.Direction.DIRECTED :
+                LinkedGraph.Direction.NON_DIRECTED);
+        for (int i = 0; i < edges.edges_count; i++) {
+            graph.setNeighbor(vertices.get(edges.sources[i]), vertices.get(edges.targets[i]), edges.weights[i]);
+        }
+        return graph;
+    }
+
+    static EdgeList parse(Path path, int parallelism) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks_count = (int) Math.max(Math.max(parallelism, 1), (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+            var bounds = new long[chunks_count + 1];
+            bounds[chunks_count] = size;
+            for (int c = 1; c < chunks_count; c++) {
+                bounds[c] = nextLineStart(channel, Math.max(bounds[c - 1], size / chunks_count * c), size);
+            }
+            var chunks = new Chunk[chunks_count];
+            for (int c = 0; c < chunks_count; c++) {
+                chunks[c] = new Chunk(bounds[c]);
+                if (bounds[c + 1] - bounds[c] > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("line too long at byte " + bounds[c]);
+                }
+                chunks[c].buffer = channel.map(FileChannel.MapMode.READ_ONLY, bounds[c], bounds[c + 1] - bounds[c]);
+            }
+            IntStream.range(0, chunks_count).parallel().forEach(c -> chunks[c].parse());
+            return merge(chunks);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        var window = ByteBuffer.allocate(4096);
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static EdgeList merge(Chunk[] chunks) {
+        int total = 0;
+        int max_vertex = -1;
+        for (var chunk : chunks) {
+            if ((long) total + chunk.count > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("too many edges");
+            }
+            total += chunk.count;
+            max_vertex = Math.max(max_vertex, chunk.max_vertex);
+        }
+        var res = new EdgeList();
+        res.vertices_count = max_vertex + 1;
+        res.edges_count = total;
+        if (chunks.length == 1) {
+            res.sources = chunks[0].sources;
+            res.targets = chunks[0].targets;
+            res.weights = chunks[0].weights;
+            return res;
+        }
+        res.sources = new int[total];
+        res.targets = new int[total];
+        res.weights = new double[total];
+        int offset = 0;
+        for (var chunk : chunks) {
+            System.arraycopy(chunk.sources, 0, res.sources, offset, chunk.count);
+            System.arraycopy(chunk.targets, 0, res.targets, offset, chunk.count);
+            System.arraycopy(chunk.weights, 0, res.weights, offset, chunk.count);
+            offset += chunk.count;
+        }
+        return res;
+    }
+
+    static final class EdgeList {
+        int vertices_count;
+        int edges_count;
+        int[] sources;
+        int[] targets;
+        double[] weights;
+    }
+
+    private static final class Chunk {
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+        private final long base; // file offset of the chunk, for error message
+        MappedByteBuffer buffer;
+        int[] sources = new int[1024];
+        int[] targets = new int[1024];
+        double[] weights = new double[1024];
+        int count = 0;
+        int max_vertex = -1;
+        private int position = 0;
+
+        Chunk(long base) {
+            this.base = base;
+        }
+
+        void parse() {
+            int limit = buffer.limit();
+            while (position < limit) {
+                skipSpaces();
+                if (position >= limit) {
+                    break;
+                }
+                byte b = buffer.get(position);
+                if (b == '\n') {
+                    position++;
+                    continue;
+                }
+                if (b == '#' || b == '%') {
+                    skipLine();
+                    continue;
+                }
+                int u = parseVertex();
+                skipSpaces();
+                int v = parseVertex();
+                skipSpaces();
+                double w = 1;
+                if (position < limit && buffer.get(position) != '\n') {
+                    w = parseWeight();
+                }
+                skipSpaces();
+                if (position < limit && buffer.get(position) != '\n') {
+                    throw malformed();
+                }
+                add(u, v, w);
+            }
+            buffer = null;
+        }
+
+        private void add(int u, int v, double w) {
+            if (count == sources.length) {
+                int capacity = (int) Math.min(count * 2L, Integer.MAX_VALUE - 8);
+                sources = Arrays.copyOf(sources, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            sources[count] = u;
+            targets[count] = v;
+            weights[count] = w;
+            count++;
+            max_vertex = Math.max(max_vertex, Math.max(u, v));
+        }
+
+        private void skipSpaces() {
+            int limit = buffer.limit();
+            while (position < limit) {
+                byte b = buffer.get(position);
+                if (b != ' ' && b != '\t' && b != ',' && b != '\r') {
+                    break;
+                }
+                position++;
+            }
+        }
+
+        private void skipLine() {
+            int limit = buffer.limit();
+            while (position < limit && buffer.get(position) != '\n') {
+                position++;
+            }
+        }
+
+        private int parseVertex() {
+            int limit = buffer.limit();
+            long res = 0;
+            int start = position;
+            while (position < limit) {
+                int d = buffer.get(position) - '0';
+                if (d < 0 || d > 9) {
+                    break;
+                }
+                res = res * 10 + d;
+                if (res > Integer.MAX_VALUE - 1) {
+                    throw malformed();
+                }
+                position++;
+            }
+            if (position == start) {
+                throw malformed();
+            }
+            return (int) res;
+        }
+
+        private double parseWeight() {
+            int limit = buffer.limit();
+            boolean negative = false;
+            byte b = buffer.get(position);
+            if (b == '-' || b == '+') {
+                negative = b == '-';
+                position++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            boolean fraction = false;
+            while (position < limit) {
+                b = buffer.get(position);
+                if (b >= '0' && b <= '9') {
+                    any = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (b - '0');
+                        if (mantissa != 0) {
+                            digits++;
+                        }
+                        if (fraction) {
+                            exponent--;
+                        }
+                    }
+                    else if (!fraction) {
+                        exponent++;
+                    }
+                }
+                else if (b == '.' && !fraction) {
+                    fraction = true;
+                }
+                else {
+                    break;
+                }
+                position++;
+            }
+            if (!any) {
+                throw malformed();
+            }
+            if (position < limit && (buffer.get(position) == 'e' || buffer.get(position) == 'E')) {
+                position++;
+                boolean negative_exponent = false;
+                if (position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+                    negative_exponent = buffer.get(position) == '-';
+                    position++;
+                }
+                int e = 0;
+                int start = position;
+                while (position < limit && buffer.get(position) >= '0' && buffer.get(position) <= '9') {
+                    e = Math.min(e * 10 + (buffer.get(position) - '0'), 1000);
+                    position++;
+                }
+                if (position == start) {
+                    throw malformed();
+                }
+                exponent += negative_exponent ? -e : e;
+            }
+            double res;
+            if (exponent == 0) {
+                res = mantissa;
+            }
+            else if (exponent > 0 && exponent < POWERS_OF_TEN.length) {
+                res = mantissa * POWERS_OF_TEN[exponent];
+            }
+            else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                res = mantissa / POWERS_OF_TEN[-exponent]; // exact power, correctly rounded for mantissa < 2^53
+            }
+            else {
+                res = mantissa * Math.pow(10, exponent);
+            }
+            return negative ? -res : res;
+        }
+
+        private IllegalArgumentException malformed() {
+            return new IllegalArgumentException("malformed edge list at byte " + (base + position));
+        }
+    }
+}
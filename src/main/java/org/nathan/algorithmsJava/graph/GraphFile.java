@@ -0,0 +1,211 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Function;
+
+/**
+ * binary graph file, all numbers little endian, sections 8 bytes aligned
+ * <pre>
+ *     header   magic int, version int, flags int, vertices count int, arcs count long,
+ *              positions of offsets, targets, weights and keys sections as long (0 if absent)
+ *     offsets  (n + 1) int
+ *     targets  m int
+ *     weights  m double, absent if every weight is 1
+ *     keys     (n + 1) long positions into the utf-8 blob that follows
+ * </pre>
+ */
+public final class GraphFile {
+    static final int MAGIC = 0x46474149; // "IAGF"
+    static final int VERSION = 1;
+    static final int FLAG_WEIGHTS = 1;
+    static final int FLAG_KEYS = 2;
+    static final int HEADER_BYTES = 64;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    public static void write(@NotNull IndexedGraph graph, @NotNull Path path) {
+        write(graph, path, null);
+    }
+
+    /**
+     * @param key_encoder key of vertex i is key_encoder(graph.getVertex(i)), should be unique
+     */
+    public static <V> void write(@NotNull CSRGraph<V> graph, @NotNull Path path, @NotNull Function<V, String> key_encoder) {
+        var keys = new byte[graph.getVerticesCount()][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key_encoder.apply(graph.getVertex(i)).getBytes(StandardCharsets.UTF_8);
+        }
+        write(graph, path, keys);
+    }
+
+    public static MappedGraph open(@NotNull Path path) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IllegalArgumentException("not a graph file");
+            }
+            var header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("not a graph file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("unsupported graph file version " + header.getInt(4));
+            }
+            int flags = header.getInt(8);
+            int n = header.getInt(12);
+            long m = header.getLong(16);
+            if (n < 0 || m < 0 || m > Integer.MAX_VALUE / Double.BYTES) {
+                throw new IllegalArgumentException("corrupted graph file header");
+            }
+            var offsets = map(channel, header.getLong(24), (n + 1L) * Integer.BYTES).asIntBuffer();
+            var targets = map(channel, header.getLong(32), m * Integer.BYTES).asIntBuffer();
+            var weights = (flags & FLAG_WEIGHTS) != 0 ?
+                    map(channel, header.getLong(40), m * Double.BYTES).asDoubleBuffer() : null;
+            ByteBuffer keys = null;
+            if ((flags & FLAG_KEYS) != 0) {
+                long position = header.getLong(48);
+                keys = map(channel, position, channel.size() - position);
+            }
+            return new MappedGraph(n, (int) m, offsets, targets, weights, keys);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        if (position < HEADER_BYTES || length > Integer.MAX_VALUE || position + length > channel.size()) {
+            throw new IllegalArgumentException("corrupted graph file section");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void write(IndexedGraph graph, Path path, byte[][] keys) {
+        int n = graph.getVerticesCount();
+        int m = graph.getEdgesCount();
+        boolean weighted = false;
+        for (int e = 0; e < m && !weighted; e++) {
+            weighted = graph.weight(e) != 1;
+        }
+        long offsets_position = HEADER_BYTES;
+        long targets_position = align(offsets_position + (n + 1L) * Integer.BYTES);
+        long weights_position = weighted ? align(targets_position + (long) m * Integer.BYTES) : 0;
+        long keys_position = keys == null ? 0 :
+                align(weighted ? weights_position + (long) m * Double.BYTES : targets_position + (long) m * Integer.BYTES);
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            var out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt((weighted ? FLAG_WEIGHTS : 0) | (keys != null ? FLAG_KEYS : 0));
+            out.putInt(n);
+            out.putLong(m);
+            out.putLong(offsets_position);
+            out.putLong(targets_position);
+            out.putLong(weights_position);
+            out.putLong(keys_position);
+            out.padTo(offsets_position);
+            for (int u = 0; u < n; u++) {
+                out.putInt(graph.begin(u));
+            }
+            out.putInt(m);
+            out.padTo(targets_position);
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.target(e));
+            }
+            if (weighted) {
+                out.padTo(weights_position);
+                for (int e = 0; e < m; e++) {
+                    out.putDouble(graph.weight(e));
+                }
+            }
+            if (keys != null) {
+                out.padTo(keys_position);
+                long blob_offset = 0;
+                for (var key : keys) {
+                    out.putLong(blob_offset);
+                    blob_offset += key.length;
+                }
+                out.putLong(blob_offset);
+                for (var key : keys) {
+                    out.putBytes(key);
+                }
+            }
+            out.flush();
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long position = 0;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int v) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(v);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long v) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(v);
+            position += Long.BYTES;
+        }
+
+        void putDouble(double v) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(v);
+            position += Double.BYTES;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int len = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, len);
+                offset += len;
+                position += len;
+            }
+        }
+
+        void padTo(long target) throws IOException {
+            while (position < target) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+    }
+}
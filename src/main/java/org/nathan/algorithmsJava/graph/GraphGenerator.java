@@ -0,0 +1,375 @@
+package org.nathan.algorithmsJava.graph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+// seedable synthetic graphs for scale testing, written straight into primitive edge arrays.
+// work is cut into fixed size blocks and block b draws from its own generator seeded by (seed, b),
+// so blocks run in parallel and the same seed gives the same graph whatever the parallelism.
+public final class GraphGenerator {
+    private static final int BLOCK = 1 << 16;
+
+    /**
+     * R-MAT with the Graph500 probabilities 0.57, 0.19, 0.19, 0.05
+     */
+    public static Edges rmat(int scale, int edges_count, long seed) {
+        return rmat(scale, edges_count, 0.57, 0.19, 0.19, seed);
+    }
+
+    /**
+     * R-MAT, a sample of the stochastic Kronecker graph of a 2x2 initiator, see Chakrabarti, Zhan and Faloutsos.
+     * every edge picks a quadrant of the adjacency matrix scale times with probabilities a, b, c and 1 - a - b - c.
+     * vertex labels are scrambled by a bijection so high degree vertices are not packed at small indices.
+     * self loops and parallel edges are kept.
+     *
+     * @param scale vertices count is 2^scale
+     */
+    public static Edges rmat(int scale, int edges_count, double a, double b, double c, long seed) {
+        if (scale < 0 || scale > 30 || edges_count < 0) {
+            throw new IllegalArgumentException("scale should in [0, 30] and edges_count >= 0.");
+        }
+        if (!(a >= 0 && b >= 0 && c >= 0 && a + b + c <= 1)) {
+            throw new IllegalArgumentException("bad quadrant probabilities");
+        }
+        int n = 1 << scale;
+        int mask = n - 1;
+        var sources = new int[edges_count];
+        var targets = new int[edges_count];
+        // probabilities as 16 bit thresholds, one random long decides four levels
+        int ta = threshold(a);
+        int tab = threshold(a + b);
+        int tabc = threshold(a + b + c);
+        IntStream.range(0, blocks(edges_count)).parallel().forEach(block -> {
+            var random = random(seed, block);
+            for (int i = block * BLOCK, end = Math.min(i + BLOCK, edges_count); i < end; i++) {
+                int u = 0;
+                int v = 0;
+                long bits = 0;
+                for (int level = 0; level < scale; level++) {
+                    if ((level & 3) == 0) {
+                        bits = random.nextLong();
+                    }
+                    int r = (int) (bits & 0xFFFF);
+                    bits >>>= 16;
+                    // branch free quadrant, (t - 1 - r) >>> 31 is 1 if r >= t
+                    int above_ab = (tab - 1 - r) >>> 31;
+                    u = u << 1 | above_ab;
+                    v = v << 1 | ((ta - 1 - r) >>> 31 ^ above_ab ^ (tabc - 1 - r) >>> 31);
+                }
+                sources[i] = scramble(u, mask, seed);
+                targets[i] = scramble(v, mask, seed);
+            }
+        });
+        return new Edges(n, sources, targets, null);
+    }
+
+    /**
+     * rows x cols grid, vertex r * cols + c is joined to its right and lower neighbor
+     *
+     * @return edges with weights uniform in [low, high)
+     */
+    public static Edges grid(int rows, int cols, double low, double high, long seed) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("bad grid size");
+        }
+        checkRange(low, high);
+        long m = (long) rows * Math.max(cols - 1, 0) + (long) Math.max(rows - 1, 0) * cols;
+        if (m > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many edges");
+        }
+        var sources = new int[(int) m];
+        var targets = new int[(int) m];
+        var weights = new double[(int) m];
+        // row r owns the edges leaving its vertices, which start at r * (2 * cols - 1)
+        IntStream.range(0, rows).parallel().forEach(r -> {
+            var random = random(seed, r);
+            int i = r * (2 * cols - 1);
+            for (int c = 0; c < cols; c++) {
+                int u = r * cols + c;
+                if (c + 1 < cols) {
+                    sources[i] = u;
+                    targets[i] = u + 1;
+                    weights[i++] = low + (high - low) * random.nextDouble();
+                }
+                if (r + 1 < rows) {
+                    sources[i] = u;
+                    targets[i] = u + cols;
+                    weights[i++] = low + (high - low) * random.nextDouble();
+                }
+            }
+        });
+        return new Edges(rows * cols, sources, targets, weights);
+    }
+
+    /**
+     * G(n, p) without self loops, every candidate pair is taken with probability p.
+     * each source walks its candidates by geometric skips, see Batagelj and Brandes, so time is O(n + m).
+     *
+     * @param directed candidates of u are every v != u, otherwise only v > u
+     */
+    public static Edges erdosRenyi(int n, double p, boolean directed, long seed) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n should >= 0.");
+        }
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("p should in [0, 1].");
+        }
+        if (p == 0) {
+            return new Edges(n, new int[0], new int[0], null);
+        }
+        double log_q = Math.log1p(-p);
+        int sources_per_block = Math.max(1, (int) Math.min(BLOCK, BLOCK / Math.max(p * n, 1e-9)));
+        int blocks = (int) (((long) n + sources_per_block - 1) / sources_per_block);
+        var parts = new Edges[blocks];
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            var random = random(seed, block);
+            var part = new Buffer(false);
+            for (int u = block * sources_per_block, end = (int) Math.min((long) u + sources_per_block, n); u < end; u++) {
+                int first = directed ? 0 : u + 1;
+                int candidates = directed ? n - 1 : n - 1 - u;
+                for (long k = -1; ; ) {
+                    k += p == 1 ? 1 : 1 + (long) Math.floor(Math.log1p(-random.nextDouble()) / log_q);
+                    if (k >= candidates) {
+                        break;
+                    }
+                    int v = first + (int) k;
+                    if (directed && v >= u) {
+                        v++; // skip the self loop
+                    }
+                    part.add(u, v, 1);
+                }
+            }
+            parts[block] = part.toEdges(n);
+        });
+        return concat(n, parts);
+    }
+
+    /**
+     * n points uniform in the unit square, points closer than radius are joined.
+     * points are bucketed into cells of side at least radius and numbered cell by cell, so the points of a cell
+     * are contiguous, and a point only scans the rest of its cell and the four following neighbor cells.
+     *
+     * @return edges u < v weighted by euclidean distance
+     */
+    public static Edges randomGeometric(int n, double radius, long seed) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n should >= 0.");
+        }
+        if (!(radius > 0)) {
+            throw new IllegalArgumentException("radius should > 0.");
+        }
+        var x = new double[n];
+        var y = new double[n];
+        IntStream.range(0, blocks(n)).parallel().forEach(block -> {
+            var random = random(seed, block);
+            for (int i = block * BLOCK, end = Math.min(i + BLOCK, n); i < end; i++) {
+                x[i] = random.nextDouble();
+                y[i] = random.nextDouble();
+            }
+        });
+        int side = (int) Math.max(1, Math.min(Math.floor(1 / radius), Math.sqrt(n)));
+        var cell_start = new int[side * side + 1];
+        var cell_of = new int[n];
+        for (int i = 0; i < n; i++) {
+            cell_of[i] = cell(x[i], side) * side + cell(y[i], side);
+            cell_start[cell_of[i] + 1]++;
+        }
+        for (int c = 0; c < side * side; c++) {
+            cell_start[c + 1] += cell_start[c];
+        }
+        var fill = Arrays.copyOf(cell_start, side * side);
+        var px = new double[n];
+        var py = new double[n];
+        var point_cell = new int[n];
+        for (int i = 0; i < n; i++) {
+            int k = fill[cell_of[i]]++;
+            px[k] = x[i];
+            py[k] = y[i];
+            point_cell[k] = cell_of[i];
+        }
+        double r2 = radius * radius;
+        var parts = new Edges[blocks(n)];
+        IntStream.range(0, parts.length).parallel().forEach(block -> {
+            var part = new Buffer(true);
+            for (int u = block * BLOCK, end = Math.min(u + BLOCK, n); u < end; u++) {
+                int cx = point_cell[u] / side;
+                int cy = point_cell[u] % side;
+                scan(u, u + 1, cell_start[point_cell[u] + 1], px, py, r2, part);
+                if (cy + 1 < side) {
+                    scan(u, cell_start[point_cell[u] + 1], cell_start[point_cell[u] + 2], px, py, r2, part);
+                }
+                if (cx + 1 < side) {
+                    int c = (cx + 1) * side;
+                    scan(u, cell_start[c + Math.max(cy - 1, 0)], cell_start[c + Math.min(cy + 2, side)],
+                            px, py, r2, part);
+                }
+            }
+            parts[block] = part.toEdges(n);
+        });
+        return concat(n, parts);
+    }
+
+    private static void scan(int u, int from, int to, double[] x, double[] y, double r2, Buffer part) {
+        for (int v = from; v < to; v++) {
+            double dx = x[u] - x[v];
+            double dy = y[u] - y[v];
+            double d2 = dx * dx + dy * dy;
+            if (d2 < r2) {
+                part.add(u, v, Math.sqrt(d2));
+            }
+        }
+    }
+
+    private static int cell(double coordinate, int side) {
+        return Math.min((int) (coordinate * side), side - 1);
+    }
+
+    private static int threshold(double probability) {
+        return (int) Math.round(Math.min(probability, 1) * 65536);
+    }
+
+    private static int blocks(int count) {
+        return (count + BLOCK - 1) / BLOCK;
+    }
+
+    private static SplittableRandom random(long seed, int block) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + block);
+    }
+
+    // bijection of [0, mask], rounds of an affine map with odd multiplier and a xor shift
+    private static int scramble(int v, int mask, long seed) {
+        long mixed = (seed ^ 0x5DEECE66DL) * 0x9E3779B97F4A7C15L;
+        int multiplier = (int) (mixed >>> 32) | 1;
+        int offset = (int) mixed;
+        int bits = Integer.bitCount(mask);
+        for (int round = 0; round < 2 && bits > 1; round++) {
+            v = (v * multiplier + offset) & mask;
+            v ^= v >>> (bits / 2 + 1);
+        }
+        return v;
+    }
+
+    private static void checkRange(double low, double high) {
+        if (!(low <= high) || Double.isInfinite(high - low)) {
+            throw new IllegalArgumentException("bad weight range");
+        }
+    }
+
+    private static Edges concat(int n, Edges[] parts) {
+        var starts = new long[parts.length + 1];
+        for (int i = 0; i < parts.length; i++) {
+            starts[i + 1] = starts[i] + parts[i].getEdgesCount();
+        }
+        if (starts[parts.length] > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many edges");
+        }
+        int m = (int) starts[parts.length];
+        boolean weighted = parts.length > 0 && parts[0].weights != null;
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = weighted ? new double[m] : null;
+        IntStream.range(0, parts.length).parallel().forEach(i -> {
+            var part = parts[i];
+            System.arraycopy(part.sources, 0, sources, (int) starts[i], part.getEdgesCount());
+            System.arraycopy(part.targets, 0, targets, (int) starts[i], part.getEdgesCount());
+            if (weighted) {
+                System.arraycopy(part.weights, 0, weights, (int) starts[i], part.getEdgesCount());
+            }
+        });
+        return new Edges(n, sources, targets, weights);
+    }
+
+    // growable edge arrays of one block
+    private static final class Buffer {
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private double[] weights;
+        private int count = 0;
+
+        Buffer(boolean weighted) {
+            weights = weighted ? new double[16] : null;
+        }
+
+        void add(int u, int v, double w) {
+            if (count == sources.length) {
+                sources = Arrays.copyOf(sources, count * 2);
+                targets = Arrays.copyOf(targets, count * 2);
+                if (weights != null) {
+                    weights = Arrays.copyOf(weights, count * 2);
+                }
+            }
+            sources[count] = u;
+            targets[count] = v;
+            if (weights != null) {
+                weights[count] = w;
+            }
+            count++;
+        }
+
+        Edges toEdges(int n) {
+            return new Edges(n, Arrays.copyOf(sources, count), Arrays.copyOf(targets, count),
+                    weights == null ? null : Arrays.copyOf(weights, count));
+        }
+    }
+
+    /**
+     * generated edge arrays, the arrays are returned without copying
+     */
+    public static final class Edges {
+        private final int vertices_count;
+        private final int[] sources;
+        private final int[] targets;
+        private final double[] weights; // null for all 1
+
+        Edges(int vertices_count, int[] sources, int[] targets, double[] weights) {
+            this.vertices_count = vertices_count;
+            this.sources = sources;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        public int getVerticesCount() {
+            return vertices_count;
+        }
+
+        public int getEdgesCount() {
+            return sources.length;
+        }
+
+        public int[] getSources() {
+            return sources;
+        }
+
+        public int[] getTargets() {
+            return targets;
+        }
+
+        /**
+         * @return null if every weight is 1
+         */
+        public double[] getWeights() {
+            return weights;
+        }
+
+        /**
+         * @return same edges with weights uniform in [low, high)
+         */
+        public Edges withUniformWeights(double low, double high, long seed) {
+            checkRange(low, high);
+            int m = getEdgesCount();
+            var res = new double[m];
+            IntStream.range(0, blocks(m)).parallel().forEach(block -> {
+                var random = random(seed, block);
+                for (int i = block * BLOCK, end = Math.min(i + BLOCK, m); i < end; i++) {
+                    res[i] = low + (high - low) * random.nextDouble();
+                }
+            });
+            return new Edges(vertices_count, sources, targets, res);
+        }
+
+        public CSRGraph<Integer> toCSR(boolean directed) {
+            return CSRGraph.fromEdges(vertices_count, sources, targets, weights, directed);
+        }
+    }
+}
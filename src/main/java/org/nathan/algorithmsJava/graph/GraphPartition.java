@@ -0,0 +1,395 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * k-way edge-cut partition of an IndexedGraph.
+ * parts start as equal slices of bfs order and are refined by size constrained label propagation:
+ * a vertex moves to the part holding most of its arcs as long as that part stays under capacity.
+ * every part is a view with its own vertices, boundary vertices (owned, with an arc leaving the part)
+ * and ghost vertices (owned by other parts, reached by an arc of this part).
+ */
+public final class GraphPartition {
+    private final IndexedGraph graph;
+    private final int[] owner;
+    private final int[] part_sizes;
+    private final Part[] parts;
+    private final long cut_size;
+
+    private GraphPartition(IndexedGraph graph, int[] owner, int k) {
+        this.graph = graph;
+        this.owner = owner;
+        int n = owner.length;
+        part_sizes = new int[k];
+        for (var p : owner) {
+            part_sizes[p]++;
+        }
+        var members = new int[k][];
+        for (int p = 0; p < k; p++) {
+            members[p] = new int[part_sizes[p]];
+        }
+        var fill = new int[k];
+        for (int u = 0; u < n; u++) {
+            members[owner[u]][fill[owner[u]]++] = u;
+        }
+        var mark = new int[n];
+        Arrays.fill(mark, -1);
+        var ghosts = new int[n];
+        var boundary = new int[n];
+        long cut = 0;
+        parts = new Part[k];
+        for (int p = 0; p < k; p++) {
+            int ghosts_count = 0;
+            int boundary_count = 0;
+            for (var u : members[p]) {
+                boolean on_boundary = false;
+                for (int e = graph.begin(u), end = graph.end(u); e < end; e++) {
+                    int v = graph.target(e);
+                    if (owner[v] != p) {
+                        cut++;
+                        on_boundary = true;
+                        if (mark[v] != p) {
+                            mark[v] = p;
+                            ghosts[ghosts_count++] = v;
+                        }
+                    }
+                }
+                if (on_boundary) {
+                    boundary[boundary_count++] = u;
+                }
+            }
+            parts[p] = new Part(p, members[p], Arrays.copyOf(boundary, boundary_count),
+                    Arrays.copyOf(ghosts, ghosts_count));
+        }
+        cut_size = cut;
+    }
+
+    /**
+     * label propagation with 3% imbalance, at most 16 rounds
+     *
+     * @param k number of parts
+     */
+    public static GraphPartition labelPropagation(@NotNull IndexedGraph graph, int k) {
+        return labelPropagation(graph, k, 0.03, 16, 0);
+    }
+
+    /**
+     * vertex i of the partition is graph.getAllVertices().get(i)
+     *
+     * @param k number of parts
+     */
+    public static <V> GraphPartition labelPropagation(@NotNull LinkedGraph<V> graph, int k) {
+        return labelPropagation(CSRGraph.fromLinkedGraph(graph), k);
+    }
+
+    /**
+     * @param k         number of parts
+     * @param imbalance every part holds at most ceil(n / k * (1 + imbalance)) vertices
+     * @param rounds    max sweeps over all vertices, stops early when no vertex moves
+     * @param seed      seed of the visiting order
+     */
+    public static GraphPartition labelPropagation(@NotNull IndexedGraph graph,
+                                                  int k,
+                                                  double imbalance,
+                                                  int rounds,
+                                                  long seed) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k should >= 1.");
+        }
+        if (!(imbalance >= 0) || rounds < 0) {
+            throw new IllegalArgumentException("imbalance and rounds should >= 0.");
+        }
+        int n = graph.getVerticesCount();
+        var owner = new int[n];
+        var sizes = new int[k];
+        var bfs_order = VertexOrdering.BFSOrder(graph);
+        for (int i = 0; i < n; i++) {
+            owner[bfs_order[i]] = (int) ((long) i * k / n);
+            sizes[owner[bfs_order[i]]]++;
+        }
+        int capacity = (int) Math.max(Math.ceil((double) n / k * (1 + imbalance)), Math.ceil((double) n / k));
+        var order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        var rand = new Random(seed);
+        var connection = new int[k];
+        var touched = new int[k];
+        for (int r = 0; r < rounds; r++) {
+            for (int i = n - 1; i > 0; i--) {
+                int j = rand.nextInt(i + 1);
+                int t = order[i];
+                order[i] = order[j];
+                order[j] = t;
+            }
+            int moved = 0;
+            for (var u : order) {
+                int touched_count = 0;
+                for (int e = graph.begin(u), end = graph.end(u); e < end; e++) {
+                    int p = owner[graph.target(e)];
+                    if (connection[p]++ == 0) {
+                        touched[touched_count++] = p;
+                    }
+                }
+                int current = owner[u];
+                int best = current;
+                for (int i = 0; i < touched_count; i++) {
+                    int p = touched[i];
+                    if (p == current || sizes[p] >= capacity) {
+                        continue;
+                    }
+                    if (connection[p] > connection[best] ||
+                            (connection[p] == connection[best] && sizes[p] + 1 < sizes[best])) {
+                        best = p;
+                    }
+                }
+                for (int i = 0; i < touched_count; i++) {
+                    connection[touched[i]] = 0;
+                }
+                if (best != current) {
+                    owner[u] = best;
+                    sizes[current]--;
+                    sizes[best]++;
+                    moved++;
+                }
+            }
+            if (moved == 0) {
+                break;
+            }
+        }
+        return new GraphPartition(graph, owner, k);
+    }
+
+    public IndexedGraph getGraph() {
+        return graph;
+    }
+
+    public int getPartsCount() {
+        return parts.length;
+    }
+
+    /**
+     * @return part owning vertex v
+     */
+    public int owner(int v) {
+        return owner[v];
+    }
+
+    /**
+     * @return owner of every vertex
+     */
+    public int[] getOwners() {
+        return owner.clone();
+    }
+
+    public int getPartSize(int p) {
+        return part_sizes[p];
+    }
+
+    public Part getPart(int p) {
+        return parts[p];
+    }
+
+    /**
+     * @return number of arcs between different parts, non-directed edge is counted twice
+     */
+    public long getCutSize() {
+        return cut_size;
+    }
+
+    /**
+     * @return largest part size over average part size, 1 is perfectly balanced
+     */
+    public double getBalance() {
+        int n = owner.length;
+        if (n == 0) {
+            return 1;
+        }
+        int max = 0;
+        for (var size : part_sizes) {
+            max = Math.max(max, size);
+        }
+        return (double) max * parts.length / n;
+    }
+
+    /**
+     * parallel label correcting search, each part relaxes arcs of its own frontier and
+     * only writes its own vertices, relaxations reaching ghosts are sent to the owner part
+     * and applied in a second phase, so a round needs no lock
+     *
+     * @param hops every arc weighs 1
+     * @return null if a negative cycle is reachable from s
+     */
+    ShortestPathTree search(int s, boolean hops, CancellationToken token) {
+        int n = owner.length;
+        int k = parts.length;
+        var tree = ShortestPathTree.initial(n, s);
+        var distance = tree.distance;
+        var parent = tree.parent;
+        var queued = new boolean[n];
+        var states = new SearchState[k];
+        for (int p = 0; p < k; p++) {
+            states[p] = new SearchState(parts[p].size(), k, graph.newCursor());
+        }
+        states[owner[s]].next[states[owner[s]].next_size++] = s;
+        queued[s] = true;
+        for (int round = 1; ; round++) {
+            boolean active = false;
+            for (var state : states) {
+                state.swap();
+                active |= state.frontier_size > 0;
+            }
+            if (!active) {
+                return tree;
+            }
+            if (round > n) {
+                return null;
+            }
+            token.throwIfCancelled();
+            IntStream.range(0, k).parallel().forEach(p -> {
+                var state = states[p];
+                var cursor = state.cursor;
+                for (int i = 0; i < state.frontier_size; i++) {
+                    int u = state.frontier[i];
+                    queued[u] = false;
+                    cursor.reset(u);
+                    while (cursor.hasNext()) {
+                        int v = cursor.next();
+                        double sum = distance[u] + (hops ? 1 : cursor.weight());
+                        if (owner[v] == p) {
+                            if (sum < distance[v]) {
+                                distance[v] = sum;
+                                parent[v] = u;
+                                state.enqueue(v, queued);
+                            }
+                        }
+                        else {
+                            state.out[owner[v]].add(v, u, sum);
+                        }
+                    }
+                }
+            });
+            IntStream.range(0, k).parallel().forEach(q -> {
+                var state = states[q];
+                for (var sender : states) {
+                    var box = sender.out[q];
+                    for (int i = 0; i < box.size; i++) {
+                        int v = box.targets[i];
+                        if (box.distances[i] < distance[v]) {
+                            distance[v] = box.distances[i];
+                            parent[v] = box.sources[i];
+                            state.enqueue(v, queued);
+                        }
+                    }
+                    box.size = 0;
+                }
+            });
+        }
+    }
+
+    private static final class SearchState {
+        int[] frontier;
+        int frontier_size = 0;
+        int[] next;
+        int next_size = 0;
+        final Outbox[] out;
+        final ArcCursor cursor;
+
+        SearchState(int capacity, int k, ArcCursor cursor) {
+            frontier = new int[capacity];
+            next = new int[capacity];
+            out = new Outbox[k];
+            for (int q = 0; q < k; q++) {
+                out[q] = new Outbox();
+            }
+            this.cursor = cursor;
+        }
+
+        void enqueue(int v, boolean[] queued) {
+            if (!queued[v]) {
+                queued[v] = true;
+                next[next_size++] = v;
+            }
+        }
+
+        void swap() {
+            var t = frontier;
+            frontier = next;
+            next = t;
+            frontier_size = next_size;
+            next_size = 0;
+        }
+    }
+
+    private static final class Outbox {
+        int[] targets = new int[16];
+        int[] sources = new int[16];
+        double[] distances = new double[16];
+        int size = 0;
+
+        void add(int target, int source, double distance) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2);
+                sources = Arrays.copyOf(sources, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            targets[size] = target;
+            sources[size] = source;
+            distances[size] = distance;
+            size++;
+        }
+    }
+
+    public final class Part {
+        private final int index;
+        private final int[] vertices;
+        private final int[] boundary;
+        private final int[] ghosts;
+
+        private Part(int index, int[] vertices, int[] boundary, int[] ghosts) {
+            this.index = index;
+            this.vertices = vertices;
+            this.boundary = boundary;
+            this.ghosts = ghosts;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean owns(int v) {
+            Objects.checkIndex(v, owner.length);
+            return owner[v] == index;
+        }
+
+        /**
+         * @return owned vertices in ascending order
+         */
+        public int[] getVertices() {
+            return vertices.clone();
+        }
+
+        /**
+         * @return owned vertices with an arc to another part, ascending
+         */
+        public int[] getBoundary() {
+            return boundary.clone();
+        }
+
+        /**
+         * @return vertices of other parts reached by an arc of this part, in discovery order
+         */
+        public int[] getGhosts() {
+            return ghosts.clone();
+        }
+
+        int size() {
+            return vertices.length;
+        }
+    }
+}
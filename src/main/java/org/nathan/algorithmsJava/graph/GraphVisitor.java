@@ -0,0 +1,29 @@
+package org.nathan.algorithmsJava.graph;
+
+// hooks called by Traversal, every hook continues by default
+// STOP ends the whole traversal, SKIP prunes: a skipped vertex is not expanded, a skipped arc is not followed
+public interface GraphVisitor {
+    enum Control {CONTINUE, STOP, SKIP}
+
+    /**
+     * @param v     vertex reached for the first time
+     * @param depth hops from the source along the search tree
+     */
+    default Control discoverVertex(int v, int depth) {
+        return Control.CONTINUE;
+    }
+
+    /**
+     * called for every arc of an expanded vertex, before v is checked for being discovered
+     */
+    default Control examineEdge(int u, int v, double weight) {
+        return Control.CONTINUE;
+    }
+
+    /**
+     * called after all arcs of u are examined, SKIP works as CONTINUE
+     */
+    default Control finishVertex(int u) {
+        return Control.CONTINUE;
+    }
+}
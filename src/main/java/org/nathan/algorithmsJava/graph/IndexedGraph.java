@@ -0,0 +1,52 @@
+package org.nathan.algorithmsJava.graph;
+
+// read only graph over vertices 0..n-1 in compressed sparse row layout
+// arcs of vertex u are indexed by [begin(u), end(u))
+public interface IndexedGraph extends IntGraph {
+    /**
+     * @return number of arcs, non-directed edge is counted twice
+     */
+    int getEdgesCount();
+
+    int begin(int u);
+
+    int end(int u);
+
+    @Override
+    default int degree(int u) {
+        return end(u) - begin(u);
+    }
+
+    int target(int e);
+
+    double weight(int e);
+
+    @Override
+    default ArcCursor newCursor() {
+        return new ArcCursor() {
+            private int e = 0;
+            private int end = 0;
+
+            @Override
+            public void reset(int u) {
+                e = begin(u) - 1;
+                end = end(u);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return e + 1 < end;
+            }
+
+            @Override
+            public int next() {
+                return target(++e);
+            }
+
+            @Override
+            public double weight() {
+                return IndexedGraph.this.weight(e);
+            }
+        };
+    }
+}
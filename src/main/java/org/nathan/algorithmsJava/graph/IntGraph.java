@@ -0,0 +1,10 @@
+package org.nathan.algorithmsJava.graph;
+
+// read only graph over vertices 0..n-1 with sequential arc access
+public interface IntGraph {
+    int getVerticesCount();
+
+    int degree(int u);
+
+    ArcCursor newCursor();
+}
@@ -0,0 +1,254 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.structures.IndexedDAryHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+// k shortest loopless paths, see Yen
+// weights should be non-negative, a path is a vertex sequence and weighs the lightest arc of every hop
+public final class KShortestPaths {
+    /**
+     * the shortest path tree toward t is computed once over the transpose graph,
+     * its distances are a consistent A* heuristic for every spur search because spur searches only remove arcs.
+     * candidates are ordered in a TreeSet used as a double ended heap, candidates that can never
+     * be among the k best are trimmed and the worst kept one bounds the spur searches.
+     *
+     * @return at most k paths from s to t in ascending length, every path starts with s and ends with t
+     */
+    public static List<int[]> Yen(@NotNull IndexedGraph G, int s, int t, int k) {
+        return Yen(G, s, t, k, CancellationToken.NONE);
+    }
+
+    /**
+     * token is checked before every spur search
+     */
+    public static List<int[]> Yen(@NotNull IndexedGraph G, int s, int t, int k, @NotNull CancellationToken token) {
+        int n = G.getVerticesCount();
+        Objects.checkIndex(s, n);
+        Objects.checkIndex(t, n);
+        if (k < 0) {
+            throw new IllegalArgumentException("k should >= 0.");
+        }
+        List<int[]> res = new ArrayList<>();
+        if (k == 0) {
+            return res;
+        }
+        var to_target = SSShortestPath.DijkstraDAryHeap(transpose(G), t);
+        if (!to_target.isReachable(s)) {
+            return res;
+        }
+        var search = new SpurSearch(G, t, to_target.distance);
+        // parents of the transpose tree lead toward t
+        var first_path = new int[countHops(to_target, s) + 1];
+        for (int i = 0, v = s; i < first_path.length; i++, v = to_target.getParent(v)) {
+            first_path[i] = v;
+        }
+        res.add(first_path);
+        Set<List<Integer>> seen = new HashSet<>();
+        seen.add(boxed(res.get(0)));
+        var candidates = new TreeSet<Candidate>(Comparator.<Candidate>comparingDouble(c -> c.length)
+                .thenComparingLong(c -> c.id));
+        long next_id = 0;
+        while (res.size() < k) {
+            var previous = res.get(res.size() - 1);
+            double root_length = 0;
+            for (int i = 0; i + 1 < previous.length; i++) {
+                token.throwIfCancelled();
+                int spur = previous[i];
+                int needed = k - res.size();
+                double bound = candidates.size() >= needed ? candidates.last().length : Double.POSITIVE_INFINITY;
+                search.prepare(previous, i, res);
+                var spur_path = search.run(spur, bound - root_length);
+                if (spur_path != null) {
+                    var path = Arrays.copyOf(previous, i + spur_path.length);
+                    System.arraycopy(spur_path, 0, path, i, spur_path.length);
+                    if (seen.add(boxed(path))) {
+                        candidates.add(new Candidate(path, root_length + search.found_length, next_id++));
+                        while (candidates.size() > needed) {
+                            seen.remove(boxed(candidates.pollLast().path));
+                        }
+                    }
+                }
+                root_length += lightestArc(G, previous[i], previous[i + 1]);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            res.add(candidates.pollFirst().path);
+        }
+        return res;
+    }
+
+    /**
+     * @return sum of the lightest arc of every hop, positive infinity if a hop has no arc
+     */
+    public static double pathLength(@NotNull IndexedGraph G, @NotNull int[] path) {
+        double res = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            res += lightestArc(G, path[i], path[i + 1]);
+        }
+        return res;
+    }
+
+    private static double lightestArc(IndexedGraph G, int u, int v) {
+        double res = Double.POSITIVE_INFINITY;
+        for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+            if (G.target(e) == v) {
+                res = Math.min(res, G.weight(e));
+            }
+        }
+        return res;
+    }
+
+    private static int countHops(ShortestPathTree tree, int v) {
+        int res = 0;
+        for (int u = v; tree.getParent(u) != -1; u = tree.getParent(u)) {
+            res++;
+        }
+        return res;
+    }
+
+    private static List<Integer> boxed(int[] path) {
+        List<Integer> res = new ArrayList<>(path.length);
+        for (var v : path) {
+            res.add(v);
+        }
+        return res;
+    }
+
+    private static CSRGraph<Integer> transpose(IndexedGraph G) {
+        int m = G.getEdgesCount();
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        for (int u = 0, i = 0; u < G.getVerticesCount(); u++) {
+            for (int e = G.begin(u), end = G.end(u); e < end; e++, i++) {
+                sources[i] = G.target(e);
+                targets[i] = u;
+                weights[i] = G.weight(e);
+            }
+        }
+        return CSRGraph.fromEdges(G.getVerticesCount(), sources, targets, weights, true);
+    }
+
+    private static final class Candidate {
+        final int[] path;
+        final double length;
+        final long id;
+
+        Candidate(int[] path, double length, long id) {
+            this.path = path;
+            this.length = length;
+            this.id = id;
+        }
+    }
+
+    // A* from a spur vertex to t, vertices of the root path and arcs taken by known paths
+    // sharing the root are removed, arrays are reset lazily by search stamp
+    private static final class SpurSearch {
+        private final IndexedGraph G;
+        private final int t;
+        private final double[] heuristic;
+        private final double[] g;
+        private final int[] parent;
+        private final int[] stamp;
+        private final int[] removed; // == stamp if removed in this search
+        private final boolean[] closed;
+        private final IndexedDAryHeap Q;
+        private final Set<Integer> blocked_targets = new HashSet<>();
+        private int current = 0;
+        double found_length;
+
+        SpurSearch(IndexedGraph G, int t, double[] heuristic) {
+            this.G = G;
+            this.t = t;
+            this.heuristic = heuristic;
+            int n = G.getVerticesCount();
+            g = new double[n];
+            parent = new int[n];
+            stamp = new int[n];
+            removed = new int[n];
+            closed = new boolean[n];
+            Q = new IndexedDAryHeap(n);
+        }
+
+        void prepare(int[] previous, int spur_index, List<int[]> known) {
+            current++;
+            for (int j = 0; j < spur_index; j++) {
+                removed[previous[j]] = current;
+            }
+            blocked_targets.clear();
+            for (var path : known) {
+                if (path.length > spur_index + 1 &&
+                        Arrays.equals(path, 0, spur_index + 1, previous, 0, spur_index + 1)) {
+                    blocked_targets.add(path[spur_index + 1]);
+                }
+            }
+        }
+
+        /**
+         * @param bound max length of the spur path
+         * @return vertices from spur to t, null if none within bound
+         */
+        int[] run(int spur, double bound) {
+            if (!(heuristic[spur] <= bound)) {
+                return null;
+            }
+            Q.clear();
+            visit(spur, 0, -1);
+            Q.insert(spur, heuristic[spur]);
+            while (!Q.isEmpty()) {
+                if (Q.minKey() > bound) {
+                    return null;
+                }
+                int u = Q.extractMin();
+                closed[u] = true;
+                if (u == t) {
+                    found_length = g[u];
+                    int hops = 0;
+                    for (int v = u; v != spur; v = parent[v]) {
+                        hops++;
+                    }
+                    var res = new int[hops + 1];
+                    for (int v = u, i = hops; i >= 0; v = parent[v], i--) {
+                        res[i] = v;
+                    }
+                    return res;
+                }
+                for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                    int v = G.target(e);
+                    if (removed[v] == current || (u == spur && blocked_targets.contains(v)) ||
+                            heuristic[v] == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    double sum = g[u] + G.weight(e);
+                    if (stamp[v] != current) {
+                        visit(v, sum, u);
+                        Q.insert(v, sum + heuristic[v]);
+                    }
+                    else if (!closed[v] && sum < g[v]) {
+                        g[v] = sum;
+                        parent[v] = u;
+                        Q.decreaseKey(v, sum + heuristic[v]);
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void visit(int v, double distance, int from) {
+            stamp[v] = current;
+            g[v] = distance;
+            parent[v] = from;
+            closed[v] = false;
+        }
+    }
+}
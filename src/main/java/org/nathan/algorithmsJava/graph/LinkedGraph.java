@@ -4,13 +4,19 @@ package org.nathan.algorithmsJava.graph;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 public final class LinkedGraph<V> {
+    private static final int SPLIT_BLOCK = 1 << 12; // edge spliterators stop splitting below, in vertices
     private final Direction graph_direction;
     private final List<V> vertices = new ArrayList<>();
     private final Map<V, List<Edge<V>>> edges_map = new HashMap<>();
     private int size;
+    private long arcs_count = 0; // entries of all edge lists, a non-directed edge has two
+    private long modification_count = 0; // bumped by every structural change
 
     public LinkedGraph(@NotNull List<V> vertices, @NotNull Direction is_directed) {
         size = 0;
@@ -26,8 +32,11 @@ public final class LinkedGraph<V> {
     public LinkedGraph(@NotNull LinkedGraph<V> other_graph) {
         size = other_graph.vertices.size();
         this.graph_direction = other_graph.graph_direction;
-        this.edges_map.putAll(other_graph.edges_map);
+        for (var entry : other_graph.edges_map.entrySet()) { // lists are copied, edges are shared
+            this.edges_map.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
         this.vertices.addAll(other_graph.vertices);
+        this.arcs_count = other_graph.arcs_count;
     }
 
     public void setNeighbor(@NotNull V vertex, @NotNull V neighbor) {
@@ -39,6 +48,7 @@ public final class LinkedGraph<V> {
         if (graph_direction == Direction.DIRECTED) {
             var edges_list = edges_map.get(vertex);
             edges_list.add(edge_t);
+            arcs_count++;
         }
         else {
             var edges_list = edges_map.get(vertex);
@@ -46,18 +56,32 @@ public final class LinkedGraph<V> {
 
             edges_list = edges_map.get(neighbor);
             edges_list.add(edge_t);
+            arcs_count += 2;
         }
+        modification_count++;
     }
 
     public void addNewVertex(@NotNull V vertex) {
-        if (vertices.contains(vertex) || edges_map.containsKey(vertex)) {
+        if (edges_map.containsKey(vertex)) {
             throw new IllegalArgumentException("repeated vertex");
         }
         size++;
+        modification_count++;
         vertices.add(vertex);
         edges_map.put(vertex, new ArrayList<>());
     }
 
+    /**
+     * @return number of setNeighbor and addNewVertex calls so far, caches compare it to detect changes
+     */
+    public long getModificationCount() {
+        return modification_count;
+    }
+
+    public boolean isDirected() {
+        return graph_direction == Direction.DIRECTED;
+    }
+
     public int getVerticesCount() {
         return size;
     }
@@ -70,6 +94,31 @@ public final class LinkedGraph<V> {
         return res;
     }
 
+    /**
+     * walk edges in place without building a list, the graph should not be modified meanwhile
+     *
+     * @param distinct list every non-directed edge once instead of once at each side
+     * @return splittable edges
+     */
+    public Spliterator<Edge<V>> edgesSpliterator(boolean distinct) {
+        return new EdgeSpliterator(0, vertices.size(), distinct);
+    }
+
+    /**
+     * @param distinct list every non-directed edge once instead of once at each side
+     * @param parallel parallel stream splits on vertices
+     */
+    public Stream<Edge<V>> streamEdges(boolean distinct, boolean parallel) {
+        return StreamSupport.stream(edgesSpliterator(distinct), parallel);
+    }
+
+    /**
+     * @param distinct list every non-directed edge once instead of once at each side
+     */
+    public Iterable<Edge<V>> iterateEdges(boolean distinct) {
+        return () -> Spliterators.iterator(edgesSpliterator(distinct));
+    }
+
     /**
      * @return unmodifiable list
      */
@@ -77,6 +126,10 @@ public final class LinkedGraph<V> {
         return Collections.unmodifiableList(vertices);
     }
 
+    public boolean containsVertex(V vertex) {
+        return edges_map.containsKey(vertex);
+    }
+
     /**
      * @param vertex vertex
      * @return unmodifiable list
@@ -85,6 +138,91 @@ public final class LinkedGraph<V> {
         return Collections.unmodifiableList(edges_map.get(vertex));
     }
 
+    private final class EdgeSpliterator implements Spliterator<Edge<V>> {
+        private final boolean distinct;
+        private int vertex_index; // next vertex to walk
+        private final int vertex_end;
+        private V current = null;
+        private List<Edge<V>> current_edges = null;
+        private int edge_index = 0;
+
+        EdgeSpliterator(int vertex_begin, int vertex_end, boolean distinct) {
+            this.vertex_index = vertex_begin;
+            this.vertex_end = vertex_end;
+            this.distinct = distinct;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Edge<V>> action) {
+            while (true) {
+                if (current_edges != null) {
+                    while (edge_index < current_edges.size()) {
+                        var edge = current_edges.get(edge_index++);
+                        if (!distinct || isFirstOccurrence(edge)) {
+                            action.accept(edge);
+                            return true;
+                        }
+                    }
+                    current_edges = null;
+                }
+                if (vertex_index >= vertex_end) {
+                    return false;
+                }
+                current = vertices.get(vertex_index++);
+                current_edges = edges_map.get(current);
+                edge_index = 0;
+            }
+        }
+
+        // a non-directed edge sits in the lists of both sides, a loop twice in a row in one list
+        private boolean isFirstOccurrence(Edge<V> edge) {
+            if (edge.edge_direction == Direction.DIRECTED) {
+                return true;
+            }
+            if (edge.former_vertex != current && !edge.former_vertex.equals(current)) {
+                return false;
+            }
+            return edge_index < 2 || current_edges.get(edge_index - 2) != edge;
+        }
+
+        @Override
+        public Spliterator<Edge<V>> trySplit() {
+            int remaining = vertex_end - vertex_index;
+            if (remaining < 2 * SPLIT_BLOCK) {
+                return null;
+            }
+            int mid = vertex_index + remaining / 2;
+            var prefix = new EdgeSpliterator(vertex_index, mid, distinct);
+            // the prefix takes the unfinished vertex as well
+            prefix.current = current;
+            prefix.current_edges = current_edges;
+            prefix.edge_index = edge_index;
+            current = null;
+            current_edges = null;
+            vertex_index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            // vertices left times the average degree, current vertex included
+            int n = vertices.size();
+            if (n == 0) {
+                return 0;
+            }
+            long res = (vertex_end - vertex_index) * arcs_count / n;
+            if (current_edges != null) {
+                res += current_edges.size() - edge_index;
+            }
+            return distinct && graph_direction == Direction.NON_DIRECTED ? res / 2 : res;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
     enum Direction {
         DIRECTED, NON_DIRECTED
     }
@@ -0,0 +1,28 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.nathan.algorithmsJava.graph.GraphVisitor.Control;
+
+// GraphVisitor over the vertices of a LinkedGraph, hooks are called by Traversal the same way
+public interface LinkedGraphVisitor<V> {
+    /**
+     * @param v     vertex reached for the first time
+     * @param depth hops from the source along the search tree
+     */
+    default Control discoverVertex(V v, int depth) {
+        return Control.CONTINUE;
+    }
+
+    /**
+     * called for every edge of an expanded vertex, before v is checked for being discovered
+     */
+    default Control examineEdge(V u, V v, double weight) {
+        return Control.CONTINUE;
+    }
+
+    /**
+     * called after all edges of u are examined, SKIP works as CONTINUE
+     */
+    default Control finishVertex(V u) {
+        return Control.CONTINUE;
+    }
+}
@@ -0,0 +1,107 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * read only graph over a memory mapped GraphFile, nothing is copied on open.
+ * safe to share between threads.
+ */
+public final class MappedGraph implements IndexedGraph {
+    private final int vertices_count;
+    private final int edges_count;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights; // null if every weight is 1
+    private final ByteBuffer keys; // null if there is no vertex key table
+    private volatile Map<String, Integer> index_map = null;
+
+    MappedGraph(int vertices_count, int edges_count, IntBuffer offsets, IntBuffer targets,
+                DoubleBuffer weights, ByteBuffer keys) {
+        this.vertices_count = vertices_count;
+        this.edges_count = edges_count;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.keys = keys;
+    }
+
+    @Override
+    public int getVerticesCount() {
+        return vertices_count;
+    }
+
+    @Override
+    public int getEdgesCount() {
+        return edges_count;
+    }
+
+    @Override
+    public int begin(int u) {
+        return offsets.get(u);
+    }
+
+    @Override
+    public int end(int u) {
+        return offsets.get(u + 1);
+    }
+
+    @Override
+    public int target(int e) {
+        return targets.get(e);
+    }
+
+    @Override
+    public double weight(int e) {
+        return weights == null ? 1 : weights.get(e);
+    }
+
+    public boolean hasKeys() {
+        return keys != null;
+    }
+
+    /**
+     * @return key of vertex, or its index as string if the file has no key table
+     */
+    public String getKey(int index) {
+        Objects.checkIndex(index, vertices_count);
+        if (keys == null) {
+            return String.valueOf(index);
+        }
+        // positions are long, the int offsets of the buffer overflow above 2^28 vertices
+        long table = (vertices_count + 1L) * Long.BYTES;
+        long begin = keys.getLong(Math.toIntExact((long) index * Long.BYTES));
+        long end = keys.getLong(Math.toIntExact((index + 1L) * Long.BYTES));
+        var bytes = new byte[Math.toIntExact(end - begin)];
+        keys.get(Math.toIntExact(table + begin), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int indexOf(@NotNull String key) {
+        if (keys == null) {
+            try {
+                int index = Integer.parseInt(key);
+                return index >= 0 && index < vertices_count ? index : -1;
+            }
+            catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        var m = index_map;
+        if (m == null) {
+            m = new HashMap<>(vertices_count * 2);
+            for (int i = 0; i < vertices_count; i++) {
+                m.put(getKey(i), i);
+            }
+            index_map = m;
+        }
+        return m.getOrDefault(key, -1);
+    }
+}
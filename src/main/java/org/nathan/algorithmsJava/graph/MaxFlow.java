@@ -0,0 +1,465 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * maximum flow and minimum cut, edge weights of a LinkedGraph are capacities.
+ * a non-directed edge can carry flow either way up to its capacity.
+ * <br>
+ * highest label push relabel with gap and global relabel heuristics over a residual arc array:
+ * arcs of vertex u are [first[u], first[u+1]), arc a and rev[a] are the two sides of one edge.
+ * the first phase finds a maximum preflow and the minimum cut, the second phase returns
+ * excess that can not reach the sink back to the source.
+ * excess is tracked as flow is pushed, the second phase treats excess and residual capacity up to
+ * a tolerance relative to the largest capacity as zero, so rounding of fractional capacities can not keep it busy.
+ */
+public final class MaxFlow<V> {
+    private static final double GLOBAL_RELABEL_FREQUENCY = 0.5;
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+    private static final int CHECK_INTERVAL = 1 << 12;
+    private final Map<V, Integer> index_map;
+    private final List<LinkedGraph.Edge<V>> edges; // self loops are left out
+    private final int[] edge_arcs; // residual arc from former to later of each edge
+    private Map<LinkedGraph.Edge<V>, Integer> edge_index = null;
+    private final List<V> vertices;
+    private final double[] capacity; // initial residual capacity per arc
+    private final int[] first;
+    private final int[] to;
+    private final int[] rev;
+    private final double[] cap;
+    private final boolean[] source_side;
+    private final double value;
+
+    private MaxFlow(LinkedGraph<V> graph, V source, V sink, CancellationToken token) {
+        vertices = List.copyOf(graph.getAllVertices());
+        int n = vertices.size();
+        index_map = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            index_map.put(vertices.get(i), i);
+        }
+        int s = indexOf(source);
+        int t = indexOf(sink);
+        if (s == t) {
+            throw new IllegalArgumentException("source and sink should differ");
+        }
+        edges = new ArrayList<>();
+        var formers = new int[16];
+        var laters = new int[16];
+        first = new int[n + 1];
+        for (var edge : graph.iterateEdges(true)) {
+            if (!(edge.getWeight() >= 0)) {
+                throw new IllegalArgumentException("capacity should >= 0.");
+            }
+            int u = index_map.get(edge.getFormerVertex());
+            int v = index_map.get(edge.getLaterVertex());
+            if (u != v) {
+                if (edges.size() == formers.length) {
+                    formers = Arrays.copyOf(formers, formers.length * 2);
+                    laters = Arrays.copyOf(laters, laters.length * 2);
+                }
+                formers[edges.size()] = u;
+                laters[edges.size()] = v;
+                edges.add(edge);
+                first[u + 1]++;
+                first[v + 1]++;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            first[i + 1] += first[i];
+        }
+        int m = first[n];
+        to = new int[m];
+        rev = new int[m];
+        cap = new double[m];
+        edge_arcs = new int[edges.size()];
+        var fill = Arrays.copyOf(first, n);
+        boolean directed = graph.isDirected();
+        for (int i = 0; i < edges.size(); i++) {
+            int u = formers[i];
+            int v = laters[i];
+            int a = fill[u]++;
+            int b = fill[v]++;
+            to[a] = v;
+            to[b] = u;
+            rev[a] = b;
+            rev[b] = a;
+            cap[a] = edges.get(i).getWeight();
+            cap[b] = directed ? 0 : cap[a];
+            edge_arcs[i] = a;
+        }
+        capacity = cap.clone();
+        var preflow = new Preflow(s, t, token);
+        preflow.run();
+        token.throwIfCancelled();
+        value = preflow.excess[t];
+        source_side = new boolean[n];
+        var reach_sink = reverseDistances(t, -1);
+        for (int v = 0; v < n; v++) {
+            source_side[v] = reach_sink[v] == n;
+        }
+        returnExcess(s, t, preflow.excess, token);
+    }
+
+    /**
+     * O(V^2*sqrt(E))
+     *
+     * @param graph  edge weights are capacities
+     * @param source source
+     * @param sink   sink
+     * @return maximum flow from source to sink
+     */
+    public static <V> MaxFlow<V> pushRelabel(@NotNull LinkedGraph<V> graph, @NotNull V source, @NotNull V sink) {
+        return new MaxFlow<>(graph, source, sink, CancellationToken.NONE);
+    }
+
+    /**
+     * token is checked at every global relabel of the first phase, that is every O(V+E) work,
+     * and every CHECK_INTERVAL discharges of the second phase
+     */
+    public static <V> MaxFlow<V> pushRelabel(@NotNull LinkedGraph<V> graph, @NotNull V source, @NotNull V sink,
+                                             @NotNull CancellationToken token) {
+        return new MaxFlow<>(graph, source, sink, token);
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return flow from former vertex to later vertex, negative if it goes the other way on a non-directed edge
+     */
+    public double getFlow(@NotNull LinkedGraph.Edge<V> edge) {
+        if (edge_index == null) {
+            edge_index = new IdentityHashMap<>(edges.size());
+            for (int i = 0; i < edges.size(); i++) {
+                edge_index.put(edges.get(i), i);
+            }
+        }
+        var i = edge_index.get(edge);
+        if (i == null) {
+            if (edge.getFormerVertex().equals(edge.getLaterVertex()) && index_map.containsKey(edge.getFormerVertex())) {
+                return 0; // self loop
+            }
+            throw new NoSuchElementException("edge not in graph");
+        }
+        int a = edge_arcs[i];
+        return capacity[a] - cap[a];
+    }
+
+    /**
+     * @return true if v is at the source side of the minimum cut
+     */
+    public boolean isSourceSide(@NotNull V v) {
+        return source_side[indexOf(v)];
+    }
+
+    public List<V> getSourceSide() {
+        List<V> res = new ArrayList<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            if (source_side[i]) {
+                res.add(vertices.get(i));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * @return edges leaving the source side, their capacities sum up to the flow value
+     */
+    public List<LinkedGraph.Edge<V>> getMinCut() {
+        List<LinkedGraph.Edge<V>> res = new ArrayList<>();
+        for (int i = 0; i < edges.size(); i++) {
+            int a = edge_arcs[i];
+            int u = to[rev[a]];
+            int v = to[a];
+            if (source_side[u] != source_side[v] && capacity[source_side[u] ? a : rev[a]] > 0) {
+                res.add(edges.get(i));
+            }
+        }
+        return res;
+    }
+
+    private int indexOf(V v) {
+        var i = index_map.get(v);
+        if (i == null) {
+            throw new NoSuchElementException("vertex not in graph");
+        }
+        return i;
+    }
+
+    private double tolerance() {
+        double max = 0;
+        for (var c : capacity) {
+            if (c < Double.POSITIVE_INFINITY) {
+                max = Math.max(max, c);
+            }
+        }
+        return RELATIVE_TOLERANCE * max;
+    }
+
+    /**
+     * bfs over reverse residual arcs
+     *
+     * @param root    distance 0
+     * @param blocked vertex not to pass through, -1 for none
+     * @return arcs needed to reach root, n if unreachable
+     */
+    private int[] reverseDistances(int root, int blocked) {
+        int n = vertices.size();
+        var distance = new int[n];
+        Arrays.fill(distance, n);
+        var queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        distance[root] = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int a = first[v]; a < first[v + 1]; a++) {
+                int u = to[a];
+                if (u != blocked && distance[u] == n && cap[rev[a]] > 0) {
+                    distance[u] = distance[v] + 1;
+                    queue[tail++] = u;
+                }
+            }
+        }
+        return distance;
+    }
+
+    // fifo push relabel toward the source, the sink neither sends nor receives.
+    // a vertex whose excess is left without any residual path is holding rounding residue, which is dropped
+    private void returnExcess(int s, int t, double[] excess, CancellationToken token) {
+        int n = vertices.size();
+        double epsilon = tolerance();
+        excess[s] = 0;
+        excess[t] = 0;
+        var height = reverseDistances(s, t);
+        height[t] = 2 * n;
+        var current = Arrays.copyOf(first, n);
+        var queue = new int[n];
+        var queued = new boolean[n];
+        int head = 0;
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            if (excess[v] > epsilon) {
+                queue[(head + size++) % n] = v;
+                queued[v] = true;
+            }
+        }
+        long discharges = 0;
+        while (size > 0) {
+            if (++discharges % CHECK_INTERVAL == 0) {
+                token.throwIfCancelled();
+            }
+            int u = queue[head];
+            head = (head + 1) % n;
+            size--;
+            queued[u] = false;
+            while (excess[u] > epsilon) {
+                if (current[u] == first[u + 1]) {
+                    int h = 2 * n;
+                    for (int a = first[u]; a < first[u + 1]; a++) {
+                        if (cap[a] > epsilon) {
+                            h = Math.min(h, height[to[a]] + 1);
+                        }
+                    }
+                    if (h >= 2 * n) {
+                        excess[u] = 0;
+                        break;
+                    }
+                    height[u] = h;
+                    current[u] = first[u];
+                    continue;
+                }
+                int a = current[u];
+                int v = to[a];
+                if (cap[a] > epsilon && height[v] + 1 == height[u]) {
+                    double delta = Math.min(excess[u], cap[a]);
+                    cap[a] -= delta;
+                    cap[rev[a]] += delta;
+                    excess[u] -= delta;
+                    if (v != s) {
+                        excess[v] += delta;
+                        if (!queued[v] && excess[v] > epsilon) {
+                            queue[(head + size++) % n] = v;
+                            queued[v] = true;
+                        }
+                    }
+                }
+                else {
+                    current[u]++;
+                }
+            }
+        }
+    }
+
+    // highest label first phase, vertices reaching height n can not reach the sink and are left alone
+    private final class Preflow {
+        private final int n = vertices.size();
+        private final int s;
+        private final int t;
+        private final CancellationToken token;
+        private final int[] height = new int[n];
+        private final double[] excess = new double[n];
+        private final int[] current = Arrays.copyOf(first, n);
+        // active vertices of each height, singly linked
+        private final int[] bucket_first = new int[n];
+        private final int[] bucket_next = new int[n];
+        // all vertices of each height below n, doubly linked, for the gap heuristic
+        private final int[] list_first = new int[n];
+        private final int[] list_next = new int[n];
+        private final int[] list_prev = new int[n];
+        private int max_active = -1;
+        private int max_height = -1;
+        private long work = 0;
+
+        Preflow(int s, int t, CancellationToken token) {
+            this.s = s;
+            this.t = t;
+            this.token = token;
+        }
+
+        void run() {
+            for (int a = first[s]; a < first[s + 1]; a++) {
+                double delta = cap[a];
+                cap[a] = 0;
+                cap[rev[a]] += delta;
+                excess[to[a]] += delta;
+            }
+            globalRelabel();
+            long threshold = (long) (GLOBAL_RELABEL_FREQUENCY * (6L * n + to.length));
+            while (max_active >= 0) {
+                if (work > threshold) {
+                    work = 0;
+                    globalRelabel();
+                    continue;
+                }
+                int u = bucket_first[max_active];
+                if (u == -1) {
+                    max_active--;
+                    continue;
+                }
+                bucket_first[max_active] = bucket_next[u];
+                discharge(u);
+            }
+        }
+
+        private void discharge(int u) {
+            int end = first[u + 1];
+            while (true) {
+                int h = height[u];
+                for (int a = current[u]; a < end; a++) {
+                    int v = to[a];
+                    if (cap[a] > 0 && height[v] == h - 1) {
+                        double delta = Math.min(excess[u], cap[a]);
+                        cap[a] -= delta;
+                        cap[rev[a]] += delta;
+                        excess[u] -= delta;
+                        if (excess[v] == 0 && v != t) {
+                            activate(v);
+                        }
+                        excess[v] += delta;
+                        if (excess[u] == 0) {
+                            current[u] = a;
+                            return;
+                        }
+                    }
+                }
+                // relabel
+                int new_height = n;
+                int new_current = first[u];
+                for (int a = first[u]; a < end; a++) {
+                    if (cap[a] > 0 && height[to[a]] + 1 < new_height) {
+                        new_height = height[to[a]] + 1;
+                        new_current = a;
+                    }
+                }
+                work += 12 + end - first[u];
+                unlist(u);
+                if (list_first[h] == -1) {
+                    gap(h);
+                    height[u] = n;
+                    return;
+                }
+                height[u] = new_height;
+                if (new_height >= n) {
+                    return;
+                }
+                current[u] = new_current;
+                enlist(u);
+            }
+        }
+
+        // no vertex is at height h, vertices above it can not reach the sink
+        private void gap(int h) {
+            for (int g = h + 1; g <= max_height; g++) {
+                for (int v = list_first[g]; v != -1; v = list_next[v]) {
+                    height[v] = n;
+                }
+                list_first[g] = -1;
+                bucket_first[g] = -1;
+            }
+            max_height = h - 1;
+            max_active = Math.min(max_active, h - 1);
+        }
+
+        // exact distance to the sink in the residual graph
+        private void globalRelabel() {
+            token.throwIfCancelled();
+            var distance = reverseDistances(t, s);
+            Arrays.fill(bucket_first, -1);
+            Arrays.fill(list_first, -1);
+            max_active = -1;
+            max_height = -1;
+            for (int v = 0; v < n; v++) {
+                height[v] = v == s ? n : distance[v];
+                current[v] = first[v];
+                if (height[v] < n) {
+                    enlist(v);
+                    if (excess[v] > 0 && v != t) {
+                        activate(v);
+                    }
+                }
+            }
+        }
+
+        private void activate(int v) {
+            int h = height[v];
+            bucket_next[v] = bucket_first[h];
+            bucket_first[h] = v;
+            max_active = Math.max(max_active, h);
+        }
+
+        private void enlist(int v) {
+            int h = height[v];
+            list_prev[v] = -1;
+            list_next[v] = list_first[h];
+            if (list_first[h] != -1) {
+                list_prev[list_first[h]] = v;
+            }
+            list_first[h] = v;
+            max_height = Math.max(max_height, h);
+        }
+
+        private void unlist(int v) {
+            int h = height[v];
+            if (list_prev[v] != -1) {
+                list_next[list_prev[v]] = list_next[v];
+            }
+            else {
+                list_first[h] = list_next[v];
+            }
+            if (list_next[v] != -1) {
+                list_prev[list_next[v]] = list_prev[v];
+            }
+        }
+    }
+}
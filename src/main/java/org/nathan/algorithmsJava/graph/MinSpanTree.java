@@ -3,19 +3,19 @@ package org.nathan.algorithmsJava.graph;
 import org.jetbrains.annotations.NotNull;
 import org.nathan.algorithmsJava.structures.DisjointSet;
 import org.nathan.algorithmsJava.structures.FibonacciHeap;
+import org.nathan.algorithmsJava.structures.IndexedDAryHeap;
+import org.nathan.algorithmsJava.structures.IntDisjointSet;
 import org.nathan.algorithmsJava.structures.MinHeap;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
 import static org.nathan.algorithmsJava.structures.DisjointSet.*;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 // minimum spanning tree
 public final class MinSpanTree {
     public static <T> Set<LinkedGraph.Edge<KruskalVertex<T>>> Kruskal(@NotNull LinkedGraph<KruskalVertex<T>> graph) {
         Set<LinkedGraph.Edge<KruskalVertex<T>>> res = new HashSet<>();
-        var edges_set = graph.getAllEdges();
-        var edges_list = new ArrayList<>(edges_set);
+        var edges_list = new ArrayList<LinkedGraph.Edge<KruskalVertex<T>>>();
+        graph.edgesSpliterator(true).forEachRemaining(edges_list::add);
         edges_list.sort(Comparator.comparingDouble(LinkedGraph.Edge::getWeight));
         for (var edge : edges_list) {
             var v1 = edge.getFormerVertex();
@@ -28,9 +28,60 @@ public final class MinSpanTree {
         return res;
     }
 
+    /**
+     * Kruskal over csr adjacency with an int disjoint set, no per-vertex objects.
+     * every non-directed edge is taken once, from the arc whose source is smaller.
+     *
+     * @param graph non-directed csr graph
+     * @return arc indices of minimum spanning forest edges
+     */
+    public static int[] Kruskal(@NotNull IndexedGraph graph) {
+        int n = graph.getVerticesCount();
+        int m = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.begin(u), end = graph.end(u); e < end; e++) {
+                if (u < graph.target(e)) {
+                    m++;
+                }
+            }
+        }
+        var arcs = new int[m];
+        var sources = new int[graph.getEdgesCount()];
+        var weights = new double[m];
+        int idx = 0;
+        for (int u = 0; u < n; u++) {
+            for (int e = graph.begin(u), end = graph.end(u); e < end; e++) {
+                sources[e] = u;
+                if (u < graph.target(e)) {
+                    arcs[idx] = e;
+                    weights[idx] = graph.weight(e);
+                    idx++;
+                }
+            }
+        }
+        ArcSort.byWeight(weights, arcs, 0, m);
+        var set = new IntDisjointSet(n);
+        var res = new int[Math.max(n - 1, 0)];
+        int count = 0;
+        for (int i = 0; i < m && count < n - 1; i++) {
+            int e = arcs[i];
+            if (set.union(sources[e], graph.target(e))) {
+                res[count++] = e;
+            }
+        }
+        return Arrays.copyOf(res, count);
+    }
+
     public static <T> void PrimFibonacciHeap(@NotNull LinkedGraph<PrimVertex<T>> graph,
                                              @NotNull PrimVertex<T> r) {
+        PrimFibonacciHeap(graph, r, AlgorithmMetrics.NONE);
+    }
+
+    public static <T> void PrimFibonacciHeap(@NotNull LinkedGraph<PrimVertex<T>> graph,
+                                             @NotNull PrimVertex<T> r,
+                                             @NotNull AlgorithmMetrics metrics) {
         FibonacciHeap<Double, PrimVertex<T>> Q = new FibonacciHeap<>(Comparator.comparingDouble(a -> a));
+        Q.setMetrics(metrics);
         var vertices = graph.getAllVertices();
         for (var u : vertices) {
             if (u != r) {
@@ -44,10 +95,15 @@ public final class MinSpanTree {
         }
         while (Q.count() > 0) {
             var u = Q.extractMin();
+            if (u.key < Double.POSITIVE_INFINITY) { // unreachable vertices are extracted too
+                metrics.vertexVisited();
+            }
             var u_edges = graph.getEdgesAt(u);
             for (var edge : u_edges) {
                 var v = edge.getAnotherSide(u);
+                metrics.edgeScanned();
                 if (Q.contains(v) && edge.getWeight() < v.key) {
+                    metrics.relaxation();
                     v.parent = u;
                     v.key = edge.getWeight();
                     Q.decreaseKey(v, v.key);
@@ -58,6 +114,12 @@ public final class MinSpanTree {
 
     public static <T> void PrimMinHeap(@NotNull LinkedGraph<PrimVertex<T>> graph,
                                        @NotNull PrimVertex<T> r) {
+        PrimMinHeap(graph, r, AlgorithmMetrics.NONE);
+    }
+
+    public static <T> void PrimMinHeap(@NotNull LinkedGraph<PrimVertex<T>> graph,
+                                       @NotNull PrimVertex<T> r,
+                                       @NotNull AlgorithmMetrics metrics) {
         var vertices = graph.getAllVertices();
         for (var u : vertices) {
             if (u != r) {
@@ -69,12 +131,18 @@ public final class MinSpanTree {
             u.parent = null;
         }
         MinHeap<Double,PrimVertex<T>> Q = new MinHeap<>(vertices, PrimVertex::getKey,Double::compare);
+        Q.setMetrics(metrics);
         while (Q.length() > 0) {
             var u = Q.extractMin();
+            if (u.key < Double.POSITIVE_INFINITY) { // unreachable vertices are extracted too
+                metrics.vertexVisited();
+            }
             var u_edges = graph.getEdgesAt(u);
             for (var edge : u_edges) {
                 var v = edge.getAnotherSide(u);
+                metrics.edgeScanned();
                 if (Q.contains(v) && edge.getWeight() < v.key) {
+                    metrics.relaxation();
                     v.parent = u;
                     v.key = edge.getWeight();
                     Q.updateKey(v, v.key);
@@ -83,6 +151,55 @@ public final class MinSpanTree {
         }
     }
 
+    /**
+     * Prim over int graph with a primitive indexed d-ary heap.
+     * vertices are only pushed into the heap when first reached.
+     *
+     * @param graph non-directed graph
+     * @param r     root index
+     * @return parent index of each vertex in the tree, -1 for root and vertices unreachable from root
+     */
+    public static int[] PrimDAryHeap(@NotNull IntGraph graph, int r) {
+        return PrimDAryHeap(graph, r, AlgorithmMetrics.NONE);
+    }
+
+    public static int[] PrimDAryHeap(@NotNull IntGraph graph, int r, @NotNull AlgorithmMetrics metrics) {
+        int n = graph.getVerticesCount();
+        Objects.checkIndex(r, n);
+        var parent = new int[n];
+        Arrays.fill(parent, -1);
+        var in_tree = new BitSet(n);
+        var Q = new IndexedDAryHeap(n);
+        Q.setMetrics(metrics);
+        var cursor = graph.newCursor();
+        Q.insert(r, 0.0);
+        while (!Q.isEmpty()) {
+            int u = Q.extractMin();
+            in_tree.set(u);
+            metrics.vertexVisited();
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                metrics.edgeScanned();
+                if (in_tree.get(v)) {
+                    continue;
+                }
+                double w = cursor.weight();
+                if (!Q.contains(v)) {
+                    metrics.relaxation();
+                    Q.insert(v, w);
+                    parent[v] = u;
+                }
+                else if (w < Q.getKey(v)) {
+                    metrics.relaxation();
+                    Q.decreaseKey(v, w);
+                    parent[v] = u;
+                }
+            }
+        }
+        return parent;
+    }
+
     public final static class KruskalVertex<V> extends DisjointSet {
         @NotNull
         private final V content;
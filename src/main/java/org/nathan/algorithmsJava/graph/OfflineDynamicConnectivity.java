@@ -0,0 +1,170 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.nathan.algorithmsJava.structures.RollbackDisjointSet;
+
+import java.util.*;
+
+// answer connectivity queries over a log of edge additions and removals of a non-directed graph
+// every edge lives in an interval of query times, intervals are put on a segment tree over time,
+// a dfs over the tree unions edges on entering a node and rolls them back on leaving
+// O((V + Q + E*lgQ) * lgV)
+public final class OfflineDynamicConnectivity {
+    private final int vertices_count;
+    private final Map<Long, Deque<Integer>> alive = new HashMap<>(); // edge key -> add times
+    private int[] interval_u = new int[16];
+    private int[] interval_v = new int[16];
+    private int[] interval_begin = new int[16];
+    private int[] interval_end = new int[16];
+    private int intervals_count = 0;
+    private int[] query_u = new int[16];
+    private int[] query_v = new int[16];
+    private int queries_count = 0;
+
+    // segment tree node -> edges, as singly linked lists in arrays
+    private int[] node_head;
+    private int[] entry_next;
+    private int[] entry_interval;
+    private int entries_count;
+
+    public OfflineDynamicConnectivity(int vertices_count) {
+        if (vertices_count < 0) {
+            throw new IllegalArgumentException("vertices count should >= 0.");
+        }
+        this.vertices_count = vertices_count;
+    }
+
+    public void addEdge(int u, int v) {
+        Objects.checkIndex(u, vertices_count);
+        Objects.checkIndex(v, vertices_count);
+        alive.computeIfAbsent(key(u, v), k -> new ArrayDeque<>()).push(queries_count);
+    }
+
+    public void removeEdge(int u, int v) {
+        var times = alive.get(key(u, v));
+        if (times == null || times.isEmpty()) {
+            throw new NoSuchElementException("No such edge.");
+        }
+        addInterval(u, v, times.pop(), queries_count);
+    }
+
+    /**
+     * ask whether u and v are connected by the edges alive now
+     *
+     * @return index of the answer in solve()
+     */
+    public int query(int u, int v) {
+        Objects.checkIndex(u, vertices_count);
+        Objects.checkIndex(v, vertices_count);
+        if (queries_count == query_u.length) {
+            query_u = Arrays.copyOf(query_u, queries_count * 2);
+            query_v = Arrays.copyOf(query_v, queries_count * 2);
+        }
+        query_u[queries_count] = u;
+        query_v[queries_count] = v;
+        return queries_count++;
+    }
+
+    /**
+     * edges still alive stay alive until the last query,
+     * more operations can be recorded and solved again afterwards
+     *
+     * @return answers of queries in order
+     */
+    public boolean[] solve() {
+        var answers = new boolean[queries_count];
+        if (queries_count == 0) {
+            return answers;
+        }
+        int size = 1;
+        while (size < queries_count) {
+            size <<= 1;
+        }
+        node_head = new int[size * 2];
+        Arrays.fill(node_head, -1);
+        entry_next = new int[16];
+        entry_interval = new int[16];
+        entries_count = 0;
+        for (int i = 0; i < intervals_count; i++) {
+            insert(1, 0, size, interval_begin[i], interval_end[i], i);
+        }
+        for (var entry : alive.entrySet()) {
+            int u = (int) (entry.getKey() >>> 32);
+            int v = (int) (long) entry.getKey();
+            for (var begin : entry.getValue()) {
+                int i = addInterval(u, v, begin, queries_count);
+                insert(1, 0, size, begin, queries_count, i);
+            }
+        }
+        var set = new RollbackDisjointSet(vertices_count);
+        traverse(1, 0, size, set, answers);
+        // forget still alive intervals, they are rebuilt by the next solve()
+        intervals_count -= alive.values().stream().mapToInt(Deque::size).sum();
+        node_head = null;
+        entry_next = null;
+        entry_interval = null;
+        return answers;
+    }
+
+    private void insert(int node, int low, int high, int begin, int end, int interval) {
+        if (end <= low || high <= begin) {
+            return;
+        }
+        if (begin <= low && high <= end) {
+            if (entries_count == entry_next.length) {
+                entry_next = Arrays.copyOf(entry_next, entries_count * 2);
+                entry_interval = Arrays.copyOf(entry_interval, entries_count * 2);
+            }
+            entry_interval[entries_count] = interval;
+            entry_next[entries_count] = node_head[node];
+            node_head[node] = entries_count++;
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        insert(node * 2, low, mid, begin, end, interval);
+        insert(node * 2 + 1, mid, high, begin, end, interval);
+    }
+
+    private void traverse(int node, int low, int high, RollbackDisjointSet set, boolean[] answers) {
+        if (low >= queries_count) {
+            return;
+        }
+        int snapshot = set.snapshot();
+        for (int e = node_head[node]; e != -1; e = entry_next[e]) {
+            int i = entry_interval[e];
+            set.union(interval_u[i], interval_v[i]);
+        }
+        if (high - low == 1) {
+            answers[low] = set.sameSet(query_u[low], query_v[low]);
+        }
+        else {
+            int mid = (low + high) >>> 1;
+            traverse(node * 2, low, mid, set, answers);
+            traverse(node * 2 + 1, mid, high, set, answers);
+        }
+        set.rollback(snapshot);
+    }
+
+    private int addInterval(int u, int v, int begin, int end) {
+        if (intervals_count == interval_u.length) {
+            int capacity = intervals_count * 2;
+            interval_u = Arrays.copyOf(interval_u, capacity);
+            interval_v = Arrays.copyOf(interval_v, capacity);
+            interval_begin = Arrays.copyOf(interval_begin, capacity);
+            interval_end = Arrays.copyOf(interval_end, capacity);
+        }
+        interval_u[intervals_count] = u;
+        interval_v[intervals_count] = v;
+        interval_begin[intervals_count] = begin;
+        interval_end[intervals_count] = end;
+        return intervals_count++;
+    }
+
+    private static long key(int u, int v) {
+        if (u > v) {
+            int t = u;
+            u = v;
+            v = t;
+        }
+        return ((long) u << 32) | (v & 0xffffffffL);
+    }
+}
@@ -0,0 +1,139 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// PageRank by power iteration, see Page, Brin et al.
+// weights are ignored, every arc of u carries the same share of rank(u), parallel arcs count multiply.
+// rank of dangling vertices (no out arcs) is spread over all vertices.
+// see PersonalizedPageRank for single source queries
+public final class PageRank {
+    public static final double DEFAULT_DAMPING = 0.85;
+    private static final int BLOCK = 1 << 12;
+
+    public static double[] powerIteration(@NotNull IndexedGraph G) {
+        return powerIteration(G, DEFAULT_DAMPING, 1e-10, 100, CancellationToken.NONE);
+    }
+
+    public static double[] powerIteration(@NotNull IndexedGraph G, double damping, double tolerance, int max_iterations) {
+        return powerIteration(G, damping, tolerance, max_iterations, CancellationToken.NONE);
+    }
+
+    /**
+     * pull mode, the transpose is built once and every vertex sums the shares of its in neighbors,
+     * so blocks of vertices are updated in parallel without atomics. token is checked every iteration.
+     *
+     * @param damping        probability of following an arc
+     * @param tolerance      stop once the L1 change of an iteration is below
+     * @param max_iterations stop after
+     * @return rank of each vertex, ranks sum to 1
+     */
+    public static double[] powerIteration(@NotNull IndexedGraph G, double damping, double tolerance,
+                                          int max_iterations, @NotNull CancellationToken token) {
+        checkDamping(damping);
+        if (!(tolerance >= 0) || max_iterations < 0) {
+            throw new IllegalArgumentException("tolerance and max_iterations should >= 0.");
+        }
+        int n = G.getVerticesCount();
+        if (n == 0) {
+            return new double[0];
+        }
+        var in_offsets = new int[n + 1];
+        var in_sources = transpose(G, in_offsets);
+        var out_degree = new int[n];
+        for (int u = 0; u < n; u++) {
+            out_degree[u] = G.degree(u);
+        }
+        var rank = new double[n];
+        var next = new double[n];
+        var share = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        for (int iteration = 0; iteration < max_iterations; iteration++) {
+            token.throwIfCancelled();
+            var current = rank;
+            double dangling = IntStream.range(0, blocks).parallel().mapToDouble(b -> {
+                double sum = 0;
+                for (int u = b * BLOCK, end = Math.min(u + BLOCK, n); u < end; u++) {
+                    if (out_degree[u] == 0) {
+                        share[u] = 0;
+                        sum += current[u];
+                    }
+                    else {
+                        share[u] = current[u] / out_degree[u];
+                    }
+                }
+                return sum;
+            }).sum();
+            double base = (1 - damping) / n + damping * dangling / n;
+            var updated = next;
+            double change = IntStream.range(0, blocks).parallel().mapToDouble(b -> {
+                double sum = 0;
+                for (int v = b * BLOCK, end = Math.min(v + BLOCK, n); v < end; v++) {
+                    double pulled = 0;
+                    for (int i = in_offsets[v]; i < in_offsets[v + 1]; i++) {
+                        pulled += share[in_sources[i]];
+                    }
+                    updated[v] = base + damping * pulled;
+                    sum += Math.abs(updated[v] - current[v]);
+                }
+                return sum;
+            }).sum();
+            next = rank;
+            rank = updated;
+            if (change < tolerance) {
+                break;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * @return rank of each vertex in the order of graph.getAllVertices()
+     */
+    public static <V> double[] powerIteration(@NotNull LinkedGraph<V> graph, double damping,
+                                              double tolerance, int max_iterations) {
+        return powerIteration(CSRGraph.fromLinkedGraph(graph), damping, tolerance, max_iterations);
+    }
+
+    /**
+     * @return vertices by descending score, ties by index
+     */
+    public static int[] top(@NotNull double[] scores, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k should >= 0.");
+        }
+        return IntStream.range(0, scores.length).boxed()
+                .sorted((a, b) -> scores[a] != scores[b] ? Double.compare(scores[b], scores[a]) : a - b)
+                .limit(k).mapToInt(i -> i).toArray();
+    }
+
+    static void checkDamping(double damping) {
+        if (!(damping >= 0 && damping < 1)) {
+            throw new IllegalArgumentException("damping should in [0, 1).");
+        }
+    }
+
+    // sources of the arcs into v are in_sources[in_offsets[v]..in_offsets[v + 1])
+    private static int[] transpose(IndexedGraph G, int[] in_offsets) {
+        int n = G.getVerticesCount();
+        for (int u = 0; u < n; u++) {
+            for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                in_offsets[G.target(e) + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            in_offsets[v + 1] += in_offsets[v];
+        }
+        var fill = Arrays.copyOf(in_offsets, n);
+        var in_sources = new int[in_offsets[n]];
+        for (int u = 0; u < n; u++) {
+            for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                in_sources[fill[G.target(e)]++] = u;
+            }
+        }
+        return in_sources;
+    }
+}
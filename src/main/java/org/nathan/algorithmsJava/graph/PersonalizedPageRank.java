@@ -0,0 +1,170 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * single source personalized PageRank by forward push, see Andersen, Chung and Lang.
+ * the walk restarts at the source with probability 1 - damping, a dangling vertex sends its rank back to the source.
+ * <br>
+ * a vertex u is pushed while its residual is at least epsilon * max(degree(u), 1), so once a query ends
+ * every residual is below that bound. a query does O(1 / ((1 - damping) * epsilon)) pushes, which does not
+ * depend on the size of the graph, and arrays are reset through the list of touched vertices.
+ * not thread safe, use one engine per thread.
+ */
+public final class PersonalizedPageRank {
+    private final IndexedGraph G;
+    private final double damping;
+    private final double epsilon;
+    private final double[] estimate;
+    private final double[] residual;
+    private final boolean[] queued;
+    private int[] queue; // circular
+    private int[] touched;
+    private int touched_count = 0;
+    private int source = -1;
+    private long pushes = 0;
+
+    /**
+     * @param damping probability of following an arc
+     * @param epsilon residual threshold per unit of degree
+     */
+    public PersonalizedPageRank(@NotNull IndexedGraph G, double damping, double epsilon) {
+        PageRank.checkDamping(damping);
+        if (!(epsilon > 0)) {
+            throw new IllegalArgumentException("epsilon should > 0.");
+        }
+        this.G = G;
+        this.damping = damping;
+        this.epsilon = epsilon;
+        int n = G.getVerticesCount();
+        estimate = new double[n];
+        residual = new double[n];
+        queued = new boolean[n];
+        queue = new int[16];
+        touched = new int[16];
+    }
+
+    /**
+     * drops the result of the last query
+     */
+    public void query(int s) {
+        Objects.checkIndex(s, G.getVerticesCount());
+        for (int i = 0; i < touched_count; i++) {
+            estimate[touched[i]] = 0;
+            residual[touched[i]] = 0;
+        }
+        touched_count = 0;
+        pushes = 0;
+        source = s;
+        int head = 0;
+        int size = 0;
+        touch(s);
+        residual[s] = 1;
+        queue[0] = s;
+        queued[s] = true;
+        size++;
+        while (size > 0) {
+            int u = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            queued[u] = false;
+            double r = residual[u];
+            int degree = G.degree(u);
+            if (r < epsilon * Math.max(degree, 1)) {
+                continue;
+            }
+            pushes++;
+            residual[u] = 0;
+            estimate[u] += (1 - damping) * r;
+            if (degree == 0) {
+                residual[s] += damping * r;
+                if (!queued[s] && residual[s] >= epsilon * Math.max(G.degree(s), 1)) {
+                    head = enqueue(s, head, size++);
+                }
+                continue;
+            }
+            double share = damping * r / degree;
+            for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                int v = G.target(e);
+                if (residual[v] == 0 && estimate[v] == 0) {
+                    touch(v);
+                }
+                residual[v] += share;
+                if (!queued[v] && residual[v] >= epsilon * Math.max(G.degree(v), 1)) {
+                    head = enqueue(v, head, size++);
+                }
+            }
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * @return estimate of the personalized rank of v, never above the exact rank,
+     * estimates and residuals of the touched vertices sum to 1
+     */
+    public double getEstimate(int v) {
+        return estimate[v];
+    }
+
+    public double getResidual(int v) {
+        return residual[v];
+    }
+
+    /**
+     * @return vertices with a non-zero estimate or residual in the last query
+     */
+    public int[] getTouched() {
+        return Arrays.copyOf(touched, touched_count);
+    }
+
+    /**
+     * @return number of pushes done by the last query
+     */
+    public long getPushCount() {
+        return pushes;
+    }
+
+    /**
+     * @return at most k touched vertices by descending estimate, ties by index
+     */
+    public int[] top(int k) {
+        var vertices = getTouched();
+        var scores = new double[vertices.length];
+        for (int i = 0; i < vertices.length; i++) {
+            scores[i] = estimate[vertices[i]];
+        }
+        var order = PageRank.top(scores, k);
+        for (int i = 0; i < order.length; i++) {
+            order[i] = vertices[order[i]];
+        }
+        return order;
+    }
+
+    private void touch(int v) {
+        if (touched_count == touched.length) {
+            touched = Arrays.copyOf(touched, touched_count * 2);
+        }
+        touched[touched_count++] = v;
+    }
+
+    // @return new head, the queue is unrolled when it grows
+    private int enqueue(int v, int head, int size) {
+        if (size == queue.length) {
+            var grown = new int[size * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = queue[(head + i) % size];
+            }
+            queue = grown;
+            head = 0;
+        }
+        queue[(head + size) % queue.length] = v;
+        queued[v] = true;
+        return head;
+    }
+}
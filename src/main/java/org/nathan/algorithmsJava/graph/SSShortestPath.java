@@ -3,9 +3,13 @@ package org.nathan.algorithmsJava.graph;
 
 import org.jetbrains.annotations.NotNull;
 import org.nathan.algorithmsJava.structures.FibonacciHeap;
+import org.nathan.algorithmsJava.structures.IndexedDAryHeap;
 import org.nathan.algorithmsJava.structures.MinHeap;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
 
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.nathan.algorithmsJava.graph.BFS.BFSVertex;
@@ -16,12 +20,24 @@ import static org.nathan.algorithmsJava.graph.DFS.topologicalSort;
 public final class SSShortestPath {
     // general case algorithm: negative weight, cyclic
     public static <T> boolean BellmanFord(@NotNull LinkedGraph<BFSVertex<T>> graph, @NotNull BFSVertex<T> s) {
+        return BellmanFord(graph, s, CancellationToken.NONE);
+    }
+
+    // token is checked once per pass and every 65536 relaxations
+    public static <T> boolean BellmanFord(@NotNull LinkedGraph<BFSVertex<T>> graph,
+                                          @NotNull BFSVertex<T> s,
+                                          @NotNull CancellationToken token) {
         initializeSingleSource(graph, s);
         int vertices_count = graph.getVerticesCount();
-        var edges = graph.getAllEdges();
+        var edges = graph.iterateEdges(true);
         for (int i = 1; i < vertices_count; i++) {
+            token.throwIfCancelled();
+            int relaxed = 0;
             for (var edge : edges) {
                 relax(edge);
+                if ((++relaxed & 0xffff) == 0) {
+                    token.throwIfCancelled();
+                }
             }
         }
         for (var edge : edges) {
@@ -32,6 +48,22 @@ public final class SSShortestPath {
         return true;
     }
 
+    /**
+     * bellman ford over a partitioned graph, parts relax arcs of their active vertices in parallel
+     *
+     * @return empty if a negative cycle is reachable from s
+     */
+    public static Optional<ShortestPathTree> parallelBellmanFord(@NotNull GraphPartition P, int s) {
+        return parallelBellmanFord(P, s, CancellationToken.NONE);
+    }
+
+    // token is checked once per round
+    public static Optional<ShortestPathTree> parallelBellmanFord(@NotNull GraphPartition P,
+                                                                 int s,
+                                                                 @NotNull CancellationToken token) {
+        return Optional.ofNullable(P.search(s, false, token));
+    }
+
     private static <T> void initializeSingleSource(LinkedGraph<BFSVertex<T>> G, BFSVertex<T> s) {
         var vertices = G.getAllVertices();
         for (var v : vertices) {
@@ -75,20 +107,31 @@ public final class SSShortestPath {
 
     // fibonacci heap, time complexity: O(V^2*lgV + V*E)
     public static <T> void DijkstraFibonacciHeap(LinkedGraph<BFSVertex<T>> G, BFSVertex<T> s) {
+        DijkstraFibonacciHeap(G, s, AlgorithmMetrics.NONE);
+    }
+
+    public static <T> void DijkstraFibonacciHeap(LinkedGraph<BFSVertex<T>> G, BFSVertex<T> s,
+                                                 @NotNull AlgorithmMetrics metrics) {
         initializeSingleSource(G, s);
         var vertices = G.getAllVertices();
         FibonacciHeap<Double, BFSVertex<T>> Q = new FibonacciHeap<>(Comparator.comparingDouble(a -> a));
+        Q.setMetrics(metrics);
         for (var vertex : vertices) {
             Q.insert(vertex.distance, vertex);
         }
         while (Q.count() > 0) {
             var u = Q.extractMin();
+            if (u.distance < Double.POSITIVE_INFINITY) { // unreachable vertices are extracted too
+                metrics.vertexVisited();
+            }
             var u_edges = G.getEdgesAt(u);
             for (var edge : u_edges) {
                 var v = edge.getAnotherSide(u);
                 var original = v.distance;
                 relax(edge);
+                metrics.edgeScanned();
                 if (v.distance < original) {
+                    metrics.relaxation();
                     Q.decreaseKey(v, v.distance);
                 }
             }
@@ -97,21 +140,76 @@ public final class SSShortestPath {
 
     // min heap, time complexity: O(V*E*lgV)
     public static <T> void DijkstraMinHeap(LinkedGraph<BFSVertex<T>> G, BFSVertex<T> s) {
+        DijkstraMinHeap(G, s, AlgorithmMetrics.NONE);
+    }
+
+    public static <T> void DijkstraMinHeap(LinkedGraph<BFSVertex<T>> G, BFSVertex<T> s,
+                                           @NotNull AlgorithmMetrics metrics) {
         initializeSingleSource(G, s);
         var vertices = G.getAllVertices();
         MinHeap<Double, BFSVertex<T>> Q = new MinHeap<>(vertices, BFSVertex::getDistance, Double::compare);
+        Q.setMetrics(metrics);
         while (Q.length() > 0) {
             var u = Q.extractMin();
+            if (u.distance < Double.POSITIVE_INFINITY) { // unreachable vertices are extracted too
+                metrics.vertexVisited();
+            }
             var u_edges = G.getEdgesAt(u);
             for (var edge : u_edges) {
                 var v = edge.getAnotherSide(u);
                 var original = v.distance;
                 relax(edge);
+                metrics.edgeScanned();
                 if (v.distance < original) {
+                    metrics.relaxation();
                     Q.updateKey(v, v.distance);
                 }
             }
         }
     }
 
+    // indexed d-ary heap over int graph, non-negative weights, time complexity: O(E*lgV)
+    public static ShortestPathTree DijkstraDAryHeap(@NotNull IntGraph G, int s) {
+        return DijkstraDAryHeap(G, s, AlgorithmMetrics.NONE);
+    }
+
+    /**
+     * arcs scanned, relaxations and visits are reported by the search, queue operations by the heap
+     */
+    public static ShortestPathTree DijkstraDAryHeap(@NotNull IntGraph G, int s, @NotNull AlgorithmMetrics metrics) {
+        var tree = ShortestPathTree.initial(G.getVerticesCount(), s);
+        var distance = tree.distance;
+        var parent = tree.parent;
+        var cursor = G.newCursor();
+        var Q = new IndexedDAryHeap(G.getVerticesCount());
+        Q.setMetrics(metrics);
+        var done = new BitSet(G.getVerticesCount());
+        Q.insert(s, 0);
+        while (!Q.isEmpty()) {
+            int u = Q.extractMin();
+            done.set(u);
+            metrics.vertexVisited();
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                metrics.edgeScanned();
+                if (done.get(v)) {
+                    continue;
+                }
+                double sum = distance[u] + cursor.weight();
+                if (sum < distance[v]) {
+                    metrics.relaxation();
+                    distance[v] = sum;
+                    parent[v] = u;
+                    if (Q.contains(v)) {
+                        Q.decreaseKey(v, sum);
+                    }
+                    else {
+                        Q.insert(v, sum);
+                    }
+                }
+            }
+        }
+        return tree;
+    }
 }
@@ -0,0 +1,171 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * lru cache of shortest path trees of a LinkedGraph, keyed by source and algorithm.
+ * trees are computed over a CSRGraph snapshot and hold vertex indices in the order of graph.getAllVertices().
+ * every lookup compares the modification count of the graph, a change drops all trees and the snapshot.
+ * edge weights changed in place (e.g. by Johnson reweighting) are not seen.
+ */
+public final class ShortestPathCache<V> {
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+    private final LinkedGraph<V> graph;
+    private final int max_entries;
+    private final long max_bytes;
+    private final LinkedHashMap<Long, ShortestPathTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private CSRGraph<V> snapshot = null;
+    private long snapshot_version = -1;
+    private long bytes = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+
+    public enum Algorithm {
+        DIJKSTRA, // non-negative weights
+        BFS // hops
+    }
+
+    /**
+     * @param graph       cached graph
+     * @param max_entries max number of trees kept
+     * @param max_bytes   max bytes of distance and parent arrays kept
+     */
+    public ShortestPathCache(@NotNull LinkedGraph<V> graph, int max_entries, long max_bytes) {
+        if (max_entries < 1 || max_bytes < 1) {
+            throw new IllegalArgumentException("bounds should >= 1.");
+        }
+        this.graph = graph;
+        this.max_entries = max_entries;
+        this.max_bytes = max_bytes;
+    }
+
+    public ShortestPathCache(@NotNull LinkedGraph<V> graph, int max_entries) {
+        this(graph, max_entries, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return tree rooted at source, computed on miss
+     */
+    public synchronized ShortestPathTree get(@NotNull V source, @NotNull Algorithm algorithm) {
+        refresh();
+        int s = indexOf(source);
+        long key = ((long) s << 1) | algorithm.ordinal();
+        var tree = trees.get(key);
+        if (tree != null) {
+            hits++;
+            return tree;
+        }
+        misses++;
+        tree = algorithm == Algorithm.DIJKSTRA ? SSShortestPath.DijkstraDAryHeap(snapshot, s) :
+                BFS.breathFirstSearch(snapshot, s);
+        trees.put(key, tree);
+        bytes += entryBytes(tree);
+        var iterator = trees.values().iterator();
+        while (trees.size() > max_entries || (bytes > max_bytes && trees.size() > 1)) {
+            var eldest = iterator.next();
+            iterator.remove();
+            bytes -= entryBytes(eldest);
+            evictions++;
+        }
+        return tree;
+    }
+
+    public synchronized double getDistance(@NotNull V source, @NotNull V target, @NotNull Algorithm algorithm) {
+        var tree = get(source, algorithm);
+        return tree.getDistance(indexOf(target));
+    }
+
+    /**
+     * @return vertices from source to target, empty if target is not reachable
+     */
+    public synchronized List<V> getPath(@NotNull V source, @NotNull V target, @NotNull Algorithm algorithm) {
+        var tree = get(source, algorithm);
+        List<V> res = new ArrayList<>();
+        for (var v : tree.getPath(indexOf(target))) {
+            res.add(snapshot.getVertex(v));
+        }
+        return res;
+    }
+
+    public synchronized int indexOf(@NotNull V v) {
+        refresh();
+        var i = snapshot.indexOf(v);
+        if (i < 0) {
+            throw new NoSuchElementException("vertex not in graph");
+        }
+        return i;
+    }
+
+    public synchronized void clear() {
+        invalidations += trees.size();
+        trees.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return trees.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * @return trees dropped because the graph changed or clear was called
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized double getHitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    /**
+     * @return counters by name: hits, misses, evictions, invalidations, entries, bytes
+     */
+    public synchronized Map<String, Long> getStats() {
+        Map<String, Long> res = new HashMap<>();
+        res.put("hits", hits);
+        res.put("misses", misses);
+        res.put("evictions", evictions);
+        res.put("invalidations", invalidations);
+        res.put("entries", (long) trees.size());
+        res.put("bytes", bytes);
+        return res;
+    }
+
+    private void refresh() {
+        long version = graph.getModificationCount();
+        if (snapshot == null || version != snapshot_version) {
+            clear();
+            snapshot = CSRGraph.fromLinkedGraph(graph);
+            snapshot_version = version;
+        }
+    }
+
+    private static long entryBytes(ShortestPathTree tree) {
+        return (long) tree.getVerticesCount() * (Double.BYTES + Integer.BYTES) + ENTRY_OVERHEAD_BYTES;
+    }
+}
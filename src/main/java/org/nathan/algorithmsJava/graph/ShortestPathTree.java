@@ -0,0 +1,84 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * result of a single source search over an IntGraph,
+ * distance is positive infinity and parent is -1 for vertices not reached
+ */
+public final class ShortestPathTree {
+    private final int source;
+    final double[] distance;
+    final int[] parent;
+
+    ShortestPathTree(int source, @NotNull double[] distance, @NotNull int[] parent) {
+        this.source = source;
+        this.distance = distance;
+        this.parent = parent;
+    }
+
+    static ShortestPathTree initial(int vertices_count, int source) {
+        Objects.checkIndex(source, vertices_count);
+        var distance = new double[vertices_count];
+        var parent = new int[vertices_count];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        distance[source] = 0;
+        return new ShortestPathTree(source, distance, parent);
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getVerticesCount() {
+        return distance.length;
+    }
+
+    public double getDistance(int v) {
+        return distance[v];
+    }
+
+    public int getParent(int v) {
+        return parent[v];
+    }
+
+    public boolean isReachable(int v) {
+        return distance[v] != Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return vertices from source to v, empty if v is not reachable
+     */
+    public int[] getPath(int v) {
+        if (!isReachable(v)) {
+            return new int[0];
+        }
+        int len = 1;
+        for (int x = v; x != source; x = parent[x]) {
+            len++;
+        }
+        var res = new int[len];
+        for (int x = v, i = len - 1; i >= 0; x = parent[x], i--) {
+            res[i] = x;
+        }
+        return res;
+    }
+
+    /**
+     * @return copy of distance array
+     */
+    public double[] getDistances() {
+        return distance.clone();
+    }
+
+    /**
+     * @return copy of parent array
+     */
+    public int[] getParents() {
+        return parent.clone();
+    }
+}
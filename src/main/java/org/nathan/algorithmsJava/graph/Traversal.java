@@ -0,0 +1,289 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.graph.GraphVisitor.Control;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+// single source bfs and dfs driven by a GraphVisitor, or by a LinkedGraphVisitor over a LinkedGraph
+// work and memory grow with the visited part only, the discovered set is a BitSet and queues grow on demand
+public final class Traversal {
+    /**
+     * @return true if the visitor stopped the traversal
+     */
+    public static boolean BFS(@NotNull IntGraph G, int s, @NotNull GraphVisitor visitor) {
+        Objects.checkIndex(s, G.getVerticesCount());
+        var discovered = new BitSet();
+        var cursor = G.newCursor();
+        var queue = new int[16];
+        var depth = new int[16];
+        int head = 0;
+        int tail = 0;
+        discovered.set(s);
+        var control = visitor.discoverVertex(s, 0);
+        if (control == Control.STOP) {
+            return true;
+        }
+        if (control == Control.CONTINUE) {
+            queue[tail] = s;
+            depth[tail++] = 0;
+        }
+        while (head < tail) {
+            int u = queue[head];
+            int d = depth[head++];
+            cursor.reset(u);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                control = visitor.examineEdge(u, v, cursor.weight());
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.SKIP || discovered.get(v)) {
+                    continue;
+                }
+                discovered.set(v);
+                control = visitor.discoverVertex(v, d + 1);
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.CONTINUE) {
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, tail * 2);
+                        depth = Arrays.copyOf(depth, tail * 2);
+                    }
+                    queue[tail] = v;
+                    depth[tail++] = d + 1;
+                }
+            }
+            if (visitor.finishVertex(u) == Control.STOP) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * a vertex is finished when its last arc is examined, skipped vertices are never finished
+     *
+     * @return true if the visitor stopped the traversal
+     */
+    public static boolean DFS(@NotNull IntGraph G, int s, @NotNull GraphVisitor visitor) {
+        Objects.checkIndex(s, G.getVerticesCount());
+        var discovered = new BitSet();
+        var stack = new int[16];
+        var cursors = new ArcCursor[16];
+        discovered.set(s);
+        var control = visitor.discoverVertex(s, 0);
+        if (control != Control.CONTINUE) {
+            return control == Control.STOP;
+        }
+        int top = 0;
+        stack[0] = s;
+        cursors[0] = G.newCursor();
+        cursors[0].reset(s);
+        while (top >= 0) {
+            int u = stack[top];
+            var cursor = cursors[top];
+            int v = -1;
+            while (cursor.hasNext()) {
+                int t = cursor.next();
+                control = visitor.examineEdge(u, t, cursor.weight());
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.SKIP || discovered.get(t)) {
+                    continue;
+                }
+                discovered.set(t);
+                control = visitor.discoverVertex(t, top + 1);
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.CONTINUE) {
+                    v = t;
+                    break;
+                }
+            }
+            if (v == -1) {
+                if (visitor.finishVertex(u) == Control.STOP) {
+                    return true;
+                }
+                top--;
+            }
+            else {
+                if (++top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                    cursors = Arrays.copyOf(cursors, top * 2);
+                }
+                stack[top] = v;
+                if (cursors[top] == null) {
+                    cursors[top] = G.newCursor();
+                }
+                cursors[top].reset(v);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * walks getEdgesAt of the expanded vertices only, discovered vertices are kept in a HashSet
+     *
+     * @return true if the visitor stopped the traversal
+     */
+    public static <V> boolean BFS(@NotNull LinkedGraph<V> G, @NotNull V s, @NotNull LinkedGraphVisitor<V> visitor) {
+        checkVertex(G, s);
+        Set<V> discovered = new HashSet<>();
+        Deque<V> queue = new ArrayDeque<>();
+        Deque<Integer> depth = new ArrayDeque<>();
+        discovered.add(s);
+        var control = visitor.discoverVertex(s, 0);
+        if (control == Control.STOP) {
+            return true;
+        }
+        if (control == Control.CONTINUE) {
+            queue.add(s);
+            depth.add(0);
+        }
+        while (!queue.isEmpty()) {
+            var u = queue.remove();
+            int d = depth.remove();
+            for (var edge : G.getEdgesAt(u)) {
+                var v = edge.getAnotherSide(u);
+                control = visitor.examineEdge(u, v, edge.getWeight());
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.SKIP || !discovered.add(v)) {
+                    continue;
+                }
+                control = visitor.discoverVertex(v, d + 1);
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.CONTINUE) {
+                    queue.add(v);
+                    depth.add(d + 1);
+                }
+            }
+            if (visitor.finishVertex(u) == Control.STOP) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * a vertex is finished when its last edge is examined, skipped vertices are never finished
+     *
+     * @return true if the visitor stopped the traversal
+     */
+    public static <V> boolean DFS(@NotNull LinkedGraph<V> G, @NotNull V s, @NotNull LinkedGraphVisitor<V> visitor) {
+        checkVertex(G, s);
+        Set<V> discovered = new HashSet<>();
+        discovered.add(s);
+        var control = visitor.discoverVertex(s, 0);
+        if (control != Control.CONTINUE) {
+            return control == Control.STOP;
+        }
+        Deque<V> stack = new ArrayDeque<>();
+        Deque<Iterator<LinkedGraph.Edge<V>>> edges = new ArrayDeque<>();
+        stack.push(s);
+        edges.push(G.getEdgesAt(s).iterator());
+        while (!stack.isEmpty()) {
+            var u = stack.peek();
+            var iterator = edges.peek();
+            V v = null;
+            while (iterator.hasNext()) {
+                var edge = iterator.next();
+                var t = edge.getAnotherSide(u);
+                control = visitor.examineEdge(u, t, edge.getWeight());
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.SKIP || !discovered.add(t)) {
+                    continue;
+                }
+                control = visitor.discoverVertex(t, stack.size());
+                if (control == Control.STOP) {
+                    return true;
+                }
+                if (control == Control.CONTINUE) {
+                    v = t;
+                    break;
+                }
+            }
+            if (v == null) {
+                if (visitor.finishVertex(u) == Control.STOP) {
+                    return true;
+                }
+                stack.pop();
+                edges.pop();
+            }
+            else {
+                stack.push(v);
+                edges.push(G.getEdgesAt(v).iterator());
+            }
+        }
+        return false;
+    }
+
+    private static <V> void checkVertex(LinkedGraph<V> G, V s) {
+        if (!G.containsVertex(s)) {
+            throw new IllegalArgumentException("no vertex " + s);
+        }
+    }
+
+    /**
+     * @return a vertex nearest to s in hops matching the predicate, -1 if none is reachable
+     */
+    public static int findFirst(@NotNull IntGraph G, int s, @NotNull IntPredicate predicate) {
+        final class Finder implements GraphVisitor {
+            int found = -1;
+
+            @Override
+            public Control discoverVertex(int v, int depth) {
+                if (predicate.test(v)) {
+                    found = v;
+                    return Control.STOP;
+                }
+                return Control.CONTINUE;
+            }
+        }
+        var finder = new Finder();
+        BFS(G, s, finder);
+        return finder.found;
+    }
+
+    /**
+     * @return vertices within k hops of s in bfs order, s first
+     */
+    public static int[] kHopNeighborhood(@NotNull IntGraph G, int s, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k should >= 0.");
+        }
+        final class Collector implements GraphVisitor {
+            int[] vertices = new int[16];
+            int size = 0;
+
+            @Override
+            public Control discoverVertex(int v, int depth) {
+                if (size == vertices.length) {
+                    vertices = Arrays.copyOf(vertices, size * 2);
+                }
+                vertices[size++] = v;
+                return depth < k ? Control.CONTINUE : Control.SKIP;
+            }
+        }
+        var collector = new Collector();
+        BFS(G, s, collector);
+        return Arrays.copyOf(collector.vertices, collector.size);
+    }
+}
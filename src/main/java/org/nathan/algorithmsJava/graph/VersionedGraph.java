@@ -0,0 +1,318 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * int graph with immutable versions.
+ * readers take a Snapshot and run algorithms on it without locks while writers go on.
+ * adjacency lists sit in a three level tree: a root of directories, directories of chunks, chunks of lists.
+ * a writer path copies: the adjacency of vertices it touches, the chunks and directories holding them
+ * and the root, which has one entry per DIRECTORY_SIZE * CHUNK_SIZE vertices.
+ * everything else is shared with the previous version, then the new version is published atomically.
+ * writers are serialized, all changes of one update are published together.
+ */
+public final class VersionedGraph {
+    private static final int CHUNK_BITS = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int DIRECTORY_BITS = 10;
+    private static final int DIRECTORY_SIZE = 1 << DIRECTORY_BITS;
+    private static final Adjacency EMPTY = new Adjacency(new int[0], new double[0]);
+    // shared by new directories, cloned before any write like every published chunk
+    private static final Adjacency[] EMPTY_CHUNK = newChunk();
+    private final boolean directed;
+    private final AtomicReference<Snapshot> current;
+    private final Object write_lock = new Object();
+
+    public VersionedGraph(int vertices_count, boolean directed) {
+        if (vertices_count < 0) {
+            throw new IllegalArgumentException("vertices count should >= 0.");
+        }
+        this.directed = directed;
+        int chunks_count = (vertices_count + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+        var root = new Adjacency[(chunks_count + DIRECTORY_SIZE - 1) >>> DIRECTORY_BITS][][];
+        for (int d = 0; d < root.length; d++) {
+            root[d] = newDirectory();
+            for (int c = 0; c < DIRECTORY_SIZE && (d << DIRECTORY_BITS) + c < chunks_count; c++) {
+                root[d][c] = newChunk();
+            }
+        }
+        current = new AtomicReference<>(new Snapshot(0, vertices_count, root));
+    }
+
+    /**
+     * @param graph arcs are copied as they are, a non-directed graph should already hold both arcs of an edge
+     */
+    public static VersionedGraph fromIndexed(@NotNull IndexedGraph graph, boolean directed) {
+        var res = new VersionedGraph(graph.getVerticesCount(), directed);
+        var snapshot = res.current.get();
+        for (int u = 0; u < graph.getVerticesCount(); u++) {
+            int begin = graph.begin(u);
+            int degree = graph.degree(u);
+            var targets = new int[degree];
+            var weights = new double[degree];
+            for (int i = 0; i < degree; i++) {
+                targets[i] = graph.target(begin + i);
+                weights[i] = graph.weight(begin + i);
+            }
+            snapshot.chunk(u)[u & (CHUNK_SIZE - 1)] = new Adjacency(targets, weights); // chunks are not shared yet
+        }
+        return res;
+    }
+
+    /**
+     * @return latest published version, never changes afterwards
+     */
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * run action on a writer over the latest version and publish the result
+     *
+     * @return the new version
+     */
+    public Snapshot update(@NotNull Consumer<Writer> action) {
+        synchronized (write_lock) {
+            var writer = new Writer(current.get());
+            action.accept(writer);
+            var next = writer.build();
+            current.set(next);
+            return next;
+        }
+    }
+
+    private static Adjacency[] newChunk() {
+        var res = new Adjacency[CHUNK_SIZE];
+        Arrays.fill(res, EMPTY);
+        return res;
+    }
+
+    private static Adjacency[][] newDirectory() {
+        var res = new Adjacency[DIRECTORY_SIZE][];
+        Arrays.fill(res, EMPTY_CHUNK);
+        return res;
+    }
+
+    public final class Writer {
+        private final Snapshot base;
+        private int vertices_count;
+        private final Map<Integer, Adjacency> touched = new HashMap<>();
+
+        private Writer(Snapshot base) {
+            this.base = base;
+            this.vertices_count = base.vertices_count;
+        }
+
+        /**
+         * @return id of the new vertex
+         */
+        public int addVertex() {
+            int id = vertices_count++;
+            touched.put(id, new Adjacency(new int[2], new double[2], 0));
+            return id;
+        }
+
+        public void setNeighbor(int u, int v) {
+            setNeighbor(u, v, 1);
+        }
+
+        public void setNeighbor(int u, int v, double w) {
+            Objects.checkIndex(u, vertices_count);
+            Objects.checkIndex(v, vertices_count);
+            mutable(u).append(v, w);
+            if (!directed) {
+                mutable(v).append(u, w);
+            }
+        }
+
+        /**
+         * remove every arc u -> v, and v -> u for non-directed graph
+         *
+         * @return number of removed edges
+         */
+        public int removeNeighbor(int u, int v) {
+            Objects.checkIndex(u, vertices_count);
+            Objects.checkIndex(v, vertices_count);
+            int removed = mutable(u).removeAll(v);
+            if (!directed && u != v) {
+                mutable(v).removeAll(u);
+            }
+            return removed;
+        }
+
+        public int getVerticesCount() {
+            return vertices_count;
+        }
+
+        private Adjacency mutable(int u) {
+            var adjacency = touched.get(u);
+            if (adjacency == null) {
+                var origin = base.adjacency(u);
+                adjacency = new Adjacency(Arrays.copyOf(origin.targets, origin.size + 2),
+                        Arrays.copyOf(origin.weights, origin.size + 2), origin.size);
+                touched.put(u, adjacency);
+            }
+            return adjacency;
+        }
+
+        // path copy, every directory and chunk on the way to a touched vertex is copied once
+        private Snapshot build() {
+            int chunks_count = (vertices_count + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+            var root = Arrays.copyOf(base.root, (chunks_count + DIRECTORY_SIZE - 1) >>> DIRECTORY_BITS);
+            var copied_directories = new boolean[root.length];
+            for (int d = base.root.length; d < root.length; d++) {
+                root[d] = newDirectory();
+                copied_directories[d] = true;
+            }
+            Set<Integer> copied_chunks = new HashSet<>();
+            for (var entry : touched.entrySet()) {
+                int u = entry.getKey();
+                int d = u >>> (CHUNK_BITS + DIRECTORY_BITS);
+                int c = (u >>> CHUNK_BITS) & (DIRECTORY_SIZE - 1);
+                if (!copied_directories[d]) {
+                    root[d] = root[d].clone();
+                    copied_directories[d] = true;
+                }
+                if (copied_chunks.add(u >>> CHUNK_BITS)) {
+                    root[d][c] = root[d][c].clone();
+                }
+                root[d][c][u & (CHUNK_SIZE - 1)] = entry.getValue().freeze();
+            }
+            return new Snapshot(base.version + 1, vertices_count, root);
+        }
+    }
+
+    public static final class Snapshot implements IntGraph {
+        private final long version;
+        private final int vertices_count;
+        private final Adjacency[][][] root;
+
+        private Snapshot(long version, int vertices_count, Adjacency[][][] root) {
+            this.version = version;
+            this.vertices_count = vertices_count;
+            this.root = root;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public int getVerticesCount() {
+            return vertices_count;
+        }
+
+        @Override
+        public int degree(int u) {
+            return adjacency(u).size;
+        }
+
+        public int target(int u, int i) {
+            var adjacency = adjacency(u);
+            Objects.checkIndex(i, adjacency.size);
+            return adjacency.targets[i];
+        }
+
+        public double weight(int u, int i) {
+            var adjacency = adjacency(u);
+            Objects.checkIndex(i, adjacency.size);
+            return adjacency.weights[i];
+        }
+
+        @Override
+        public ArcCursor newCursor() {
+            return new ArcCursor() {
+                private Adjacency adjacency = EMPTY;
+                private int i = -1;
+
+                @Override
+                public void reset(int u) {
+                    adjacency = adjacency(u);
+                    i = -1;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return i + 1 < adjacency.size;
+                }
+
+                @Override
+                public int next() {
+                    return adjacency.targets[++i];
+                }
+
+                @Override
+                public double weight() {
+                    return adjacency.weights[i];
+                }
+            };
+        }
+
+        private Adjacency adjacency(int u) {
+            Objects.checkIndex(u, vertices_count);
+            return chunk(u)[u & (CHUNK_SIZE - 1)];
+        }
+
+        private Adjacency[] chunk(int u) {
+            return root[u >>> (CHUNK_BITS + DIRECTORY_BITS)][(u >>> CHUNK_BITS) & (DIRECTORY_SIZE - 1)];
+        }
+    }
+
+    // immutable once frozen, mutable only inside its writer
+    private static final class Adjacency {
+        int[] targets;
+        double[] weights;
+        int size;
+
+        Adjacency(int[] targets, double[] weights) {
+            this(targets, weights, targets.length);
+        }
+
+        Adjacency(int[] targets, double[] weights, int size) {
+            this.targets = targets;
+            this.weights = weights;
+            this.size = size;
+        }
+
+        void append(int target, double w) {
+            if (size == targets.length) {
+                targets = Arrays.copyOf(targets, size * 2 + 2);
+                weights = Arrays.copyOf(weights, size * 2 + 2);
+            }
+            targets[size] = target;
+            weights[size] = w;
+            size++;
+        }
+
+        int removeAll(int target) {
+            int k = 0;
+            for (int i = 0; i < size; i++) {
+                if (targets[i] != target) {
+                    targets[k] = targets[i];
+                    weights[k] = weights[i];
+                    k++;
+                }
+            }
+            int removed = size - k;
+            size = k;
+            return removed;
+        }
+
+        Adjacency freeze() {
+            return new Adjacency(Arrays.copyOf(targets, size), Arrays.copyOf(weights, size));
+        }
+    }
+}
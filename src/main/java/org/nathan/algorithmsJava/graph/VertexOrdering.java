@@ -0,0 +1,195 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+// vertex orders that put vertices visited together close in memory
+// every method returns order, order[new index] = old index, use CSRGraph.relabel to apply it
+public final class VertexOrdering {
+    /**
+     * reverse Cuthill-McKee, reduces bandwidth of the adjacency matrix.
+     * bandwidth is symmetric, so arcs are taken as non-directed and the search runs over arcs and reverse arcs.
+     * every component starts from a pseudo peripheral vertex,
+     * neighbors are visited in ascending degree.
+     */
+    public static int[] reverseCuthillMcKee(@NotNull IndexedGraph graph) {
+        var G = symmetrize(graph);
+        int n = G.getVerticesCount();
+        var order = new int[n];
+        var visited = new boolean[n];
+        var level = new int[n];
+        Arrays.fill(level, -1);
+        var queue = new int[n];
+        var buffer = new long[16];
+        int tail = 0;
+        // components are started from vertices in ascending degree
+        var by_degree = new long[n];
+        for (int v = 0; v < n; v++) {
+            by_degree[v] = ((long) G.degree(v) << 32) | v;
+        }
+        Arrays.sort(by_degree);
+        for (var packed : by_degree) {
+            int start = (int) packed;
+            if (visited[start]) {
+                continue;
+            }
+            start = pseudoPeripheral(G, start, visited, level, queue);
+            int head = tail;
+            order[tail++] = start;
+            visited[start] = true;
+            while (head < tail) {
+                int u = order[head++];
+                int count = 0;
+                for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                    int v = G.target(e);
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count * 2);
+                        }
+                        buffer[count++] = ((long) G.degree(v) << 32) | v;
+                    }
+                }
+                Arrays.sort(buffer, 0, count);
+                for (int i = 0; i < count; i++) {
+                    order[tail++] = (int) buffer[i];
+                }
+            }
+        }
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    /**
+     * @return vertices in descending degree, hubs first
+     */
+    public static int[] degreeOrder(@NotNull IndexedGraph G) {
+        int n = G.getVerticesCount();
+        var packed = new long[n];
+        for (int v = 0; v < n; v++) {
+            packed[v] = ((long) (Integer.MAX_VALUE - G.degree(v)) << 32) | v;
+        }
+        Arrays.parallelSort(packed);
+        var order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * @return vertices in bfs discovery order, every component starts from its smallest index
+     */
+    public static int[] BFSOrder(@NotNull IndexedGraph G) {
+        int n = G.getVerticesCount();
+        var order = new int[n];
+        var visited = new boolean[n];
+        int tail = 0;
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) {
+                continue;
+            }
+            int head = tail;
+            order[tail++] = s;
+            visited[s] = true;
+            while (head < tail) {
+                int u = order[head++];
+                for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                    int v = G.target(e);
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        order[tail++] = v;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * @param order order[new index] = old index
+     * @return rank, rank[old index] = new index
+     */
+    public static int[] inverse(@NotNull int[] order) {
+        var rank = new int[order.length];
+        Arrays.fill(rank, -1);
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] < 0 || order[i] >= order.length || rank[order[i]] != -1) {
+                throw new IllegalArgumentException("order should be a permutation");
+            }
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+
+    /**
+     * @return max |u - v| over all arcs
+     */
+    public static int bandwidth(@NotNull IndexedGraph G) {
+        int res = 0;
+        for (int u = 0; u < G.getVerticesCount(); u++) {
+            for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                res = Math.max(res, Math.abs(u - G.target(e)));
+            }
+        }
+        return res;
+    }
+
+    // arcs of G and their reverses
+    private static CSRGraph<Integer> symmetrize(IndexedGraph G) {
+        int n = G.getVerticesCount();
+        int m = G.getEdgesCount();
+        var sources = new int[m];
+        var targets = new int[m];
+        for (int u = 0, i = 0; u < n; u++) {
+            for (int e = G.begin(u), end = G.end(u); e < end; e++, i++) {
+                sources[i] = u;
+                targets[i] = G.target(e);
+            }
+        }
+        return CSRGraph.fromEdges(n, sources, targets, null, false);
+    }
+
+    // George-Liu: bfs from start, restart from a min degree vertex of the last level while eccentricity grows.
+    // visited vertices are never entered, level should be all -1 and is restored before return
+    private static int pseudoPeripheral(IndexedGraph G, int start, boolean[] visited, int[] level, int[] queue) {
+        int eccentricity = -1;
+        while (true) {
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            level[start] = 0;
+            int max_level = 0;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int e = G.begin(u), end = G.end(u); e < end; e++) {
+                    int v = G.target(e);
+                    if (level[v] == -1 && !visited[v]) {
+                        level[v] = level[u] + 1;
+                        max_level = level[v];
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            int candidate = queue[tail - 1];
+            for (int i = tail - 1; i >= 0 && level[queue[i]] == max_level; i--) {
+                if (G.degree(queue[i]) < G.degree(candidate)) {
+                    candidate = queue[i];
+                }
+            }
+            for (int i = 0; i < tail; i++) {
+                level[queue[i]] = -1;
+            }
+            if (max_level <= eccentricity) {
+                return start;
+            }
+            eccentricity = max_level;
+            start = candidate;
+        }
+    }
+}
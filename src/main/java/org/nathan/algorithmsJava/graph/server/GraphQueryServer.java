@@ -0,0 +1,452 @@
+package org.nathan.algorithmsJava.graph.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.graph.BFS;
+import org.nathan.algorithmsJava.graph.IntGraph;
+import org.nathan.algorithmsJava.graph.SSShortestPath;
+import org.nathan.algorithmsJava.graph.ShortestPathCache.Algorithm;
+import org.nathan.algorithmsJava.graph.ShortestPathTree;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * embedded http server answering batched shortest path and reachability queries over a graph snapshot.
+ * the snapshot is only read, so any IntGraph that is not modified while serving works, e.g. a CSRGraph or
+ * a MappedGraph from GraphFile.open.
+ * <pre>
+ *     GET  /info   {"vertices":n,"arcs":m}
+ *     POST /query?algorithm=dijkstra|bfs&amp;mode=distance|reach&amp;format=binary|json
+ *          body     little endian int sources count, int targets count, sources, targets,
+ *                   no targets means every vertex
+ *          binary   distance mode: double per (source, target) pair in source major order,
+ *                   positive infinity if unreachable. reach mode: one byte per pair, 1 if reachable
+ *          json     {"distances":[[...],...]} with null if unreachable, or {"reachable":[[...],...]}
+ * </pre>
+ * a batch over max_pairs is answered 413 from its counts, before the rest of its body is read.
+ * one search runs per distinct source of a batch. requests are handled on a bounded pool,
+ * once its queue is full the accepting thread runs the request itself, which stops accepting until it is done.
+ */
+public final class GraphQueryServer implements AutoCloseable {
+    public static final String INFO_PATH = "/info";
+    public static final String QUERY_PATH = "/query";
+    public static final int CLOSE_TIMEOUT_SECONDS = 10;
+    private final IntGraph graph;
+    private final int workers;
+    private final int queue_capacity;
+    private final long max_pairs;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private HttpServer server = null;
+    private ThreadPoolExecutor pool = null;
+    private Requests requests = null;
+
+    /**
+     * @param graph          snapshot to query
+     * @param workers        threads answering requests
+     * @param queue_capacity requests waiting for a worker
+     * @param max_pairs      max (source, target) pairs of a batch
+     */
+    public GraphQueryServer(@NotNull IntGraph graph, int workers, int queue_capacity, long max_pairs) {
+        if (workers < 1 || queue_capacity < 1 || max_pairs < 1) {
+            throw new IllegalArgumentException("bounds should >= 1.");
+        }
+        this.graph = graph;
+        this.workers = workers;
+        this.queue_capacity = queue_capacity;
+        this.max_pairs = max_pairs;
+    }
+
+    public GraphQueryServer(@NotNull IntGraph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors(), 64, 1 << 24);
+    }
+
+    /**
+     * @param port 0 for any free port
+     * @return bound port, the server listens on the loopback address
+     */
+    public int start(int port) {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    public synchronized int start(@NotNull InetSocketAddress address) {
+        if (server != null) {
+            throw new IllegalStateException("already started");
+        }
+        try {
+            server = HttpServer.create(address, 0);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue_capacity), new ThreadPoolExecutor.CallerRunsPolicy());
+        server.setExecutor(pool);
+        requests = new Requests();
+        server.createContext(INFO_PATH, tracked(requests, this::handleInfo));
+        server.createContext(QUERY_PATH, tracked(requests, this::handleQuery));
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("not started");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * new requests are answered 503 at once, running requests get up to CLOSE_TIMEOUT_SECONDS to be answered,
+     * then the server stops and connections of requests still running are closed.
+     * returns within about CLOSE_TIMEOUT_SECONDS, no lock is held while waiting.
+     */
+    @Override
+    public void close() {
+        HttpServer stopping;
+        ThreadPoolExecutor stopping_pool;
+        Requests draining;
+        synchronized (this) {
+            if (server == null) {
+                return;
+            }
+            stopping = server;
+            stopping_pool = pool;
+            draining = requests;
+            draining.refuse();
+            server = null;
+            pool = null;
+            requests = null;
+        }
+        // HttpServer.stop(delay) waits the whole delay even when idle, so running requests are drained here
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(CLOSE_TIMEOUT_SECONDS);
+        try {
+            draining.drain(deadline);
+            stopping.stop(0);
+            stopping_pool.shutdown();
+            stopping_pool.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e) {
+            stopping.stop(0);
+            stopping_pool.shutdown();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getBatchesServed() {
+        return batches.get();
+    }
+
+    /**
+     * @return single source searches run, one per distinct source of a batch
+     */
+    public long getSearchesRun() {
+        return searches.get();
+    }
+
+    public long getFailedRequests() {
+        return failures.get();
+    }
+
+    /**
+     * @param targets empty for every vertex
+     * @return request body of a batch
+     */
+    public static byte[] encodeBatch(@NotNull int[] sources, @NotNull int[] targets) {
+        var buffer = ByteBuffer.allocate((2 + sources.length + targets.length) * Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(sources.length).putInt(targets.length);
+        for (var s : sources) {
+            buffer.putInt(s);
+        }
+        for (var t : targets) {
+            buffer.putInt(t);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @return distances of a binary distance mode response in source major order
+     */
+    public static double[] decodeDistances(@NotNull byte[] response) {
+        if (response.length % Double.BYTES != 0) {
+            throw new IllegalArgumentException("not a distance response");
+        }
+        var res = new double[response.length / Double.BYTES];
+        ByteBuffer.wrap(response).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(res);
+        return res;
+    }
+
+    // counts running requests so close can wait for them
+    private HttpHandler tracked(Requests requests, HttpHandler handler) {
+        return exchange -> {
+            if (!requests.enter()) {
+                try {
+                    sendError(exchange, 503, "closing");
+                }
+                finally {
+                    exchange.close();
+                }
+                return;
+            }
+            try {
+                handler.handle(exchange);
+            }
+            finally {
+                requests.leave();
+            }
+        };
+    }
+
+    private void handleInfo(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "use GET");
+                return;
+            }
+            var body = String.format("{\"vertices\":%d,\"arcs\":%d}", graph.getVerticesCount(), arcsCount());
+            send(exchange, 200, "application/json", body.getBytes(StandardCharsets.UTF_8));
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    private void handleQuery(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "use POST");
+                return;
+            }
+            Algorithm algorithm;
+            boolean reach;
+            boolean json;
+            int[] sources;
+            int[] targets;
+            try {
+                var params = parseParams(exchange.getRequestURI().getRawQuery());
+                algorithm = Algorithm.valueOf(params.getOrDefault("algorithm", "dijkstra").toUpperCase(Locale.ROOT));
+                reach = choose(params, "mode", "distance", "reach");
+                json = choose(params, "format", "binary", "json");
+                // counts are bounded before the rest of the body is read
+                var in = exchange.getRequestBody();
+                var header = ByteBuffer.wrap(in.readNBytes(2 * Integer.BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+                if (header.remaining() < 2 * Integer.BYTES) {
+                    throw new IllegalArgumentException("truncated batch");
+                }
+                int sources_count = header.getInt();
+                int targets_count = header.getInt();
+                if (sources_count < 0 || targets_count < 0) {
+                    throw new IllegalArgumentException("negative count");
+                }
+                long limit = Math.min(max_pairs, Integer.MAX_VALUE / Double.BYTES);
+                long pairs = (long) sources_count * (targets_count == 0 ? graph.getVerticesCount() : targets_count);
+                if (pairs > limit || sources_count > limit || targets_count > limit) {
+                    sendError(exchange, 413, "batch larger than " + limit + " pairs");
+                    return;
+                }
+                long length = ((long) sources_count + targets_count) * Integer.BYTES;
+                var content_length = exchange.getRequestHeaders().getFirst("Content-Length");
+                if (content_length != null && Long.parseLong(content_length) != 2 * Integer.BYTES + length) {
+                    throw new IllegalArgumentException("batch length mismatch");
+                }
+                var buffer = ByteBuffer.wrap(in.readNBytes((int) length)).order(ByteOrder.LITTLE_ENDIAN);
+                if (buffer.remaining() != length || in.read() != -1) {
+                    throw new IllegalArgumentException("batch length mismatch");
+                }
+                sources = readVertices(buffer, sources_count);
+                targets = targets_count == 0 ? allVertices() : readVertices(buffer, targets_count);
+            }
+            catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            var distances = answer(sources, targets, reach ? Algorithm.BFS : algorithm);
+            byte[] response = json ? toJson(distances, targets.length, reach) : toBinary(distances, reach);
+            batches.incrementAndGet();
+            send(exchange, 200, json ? "application/json" : "application/octet-stream", response);
+        }
+        catch (RuntimeException e) {
+            sendError(exchange, 500, String.valueOf(e.getMessage()));
+        }
+        finally {
+            exchange.close();
+        }
+    }
+
+    // distances in source major order, repeated sources share one search
+    private double[] answer(int[] sources, int[] targets, Algorithm algorithm) {
+        var res = new double[sources.length * targets.length];
+        Map<Integer, Integer> first_row = new HashMap<>();
+        for (int i = 0; i < sources.length; i++) {
+            var row = first_row.putIfAbsent(sources[i], i);
+            if (row != null) {
+                System.arraycopy(res, row * targets.length, res, i * targets.length, targets.length);
+                continue;
+            }
+            ShortestPathTree tree = algorithm == Algorithm.DIJKSTRA ?
+                    SSShortestPath.DijkstraDAryHeap(graph, sources[i]) : BFS.breathFirstSearch(graph, sources[i]);
+            searches.incrementAndGet();
+            for (int j = 0; j < targets.length; j++) {
+                res[i * targets.length + j] = tree.getDistance(targets[j]);
+            }
+        }
+        return res;
+    }
+
+    private static byte[] toBinary(double[] distances, boolean reach) {
+        if (reach) {
+            var res = new byte[distances.length];
+            for (int i = 0; i < distances.length; i++) {
+                res[i] = (byte) (distances[i] < Double.POSITIVE_INFINITY ? 1 : 0);
+            }
+            return res;
+        }
+        var buffer = ByteBuffer.allocate(distances.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asDoubleBuffer().put(distances);
+        return buffer.array();
+    }
+
+    private static byte[] toJson(double[] distances, int row_length, boolean reach) {
+        var builder = new StringBuilder(distances.length * 8 + 32);
+        builder.append(reach ? "{\"reachable\":[" : "{\"distances\":[");
+        for (int i = 0; i < distances.length; i += row_length) {
+            builder.append(i == 0 ? "[" : ",[");
+            for (int j = 0; j < row_length; j++) {
+                if (j > 0) {
+                    builder.append(',');
+                }
+                double d = distances[i + j];
+                if (reach) {
+                    builder.append(d < Double.POSITIVE_INFINITY);
+                }
+                else if (d < Double.POSITIVE_INFINITY) {
+                    builder.append(d);
+                }
+                else {
+                    builder.append("null");
+                }
+            }
+            builder.append(']');
+        }
+        builder.append("]}");
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int[] readVertices(ByteBuffer buffer, int count) {
+        var res = new int[count];
+        for (int i = 0; i < count; i++) {
+            res[i] = buffer.getInt();
+            if (res[i] < 0 || res[i] >= graph.getVerticesCount()) {
+                throw new IllegalArgumentException("no vertex " + res[i]);
+            }
+        }
+        return res;
+    }
+
+    private int[] allVertices() {
+        var res = new int[graph.getVerticesCount()];
+        for (int i = 0; i < res.length; i++) {
+            res[i] = i;
+        }
+        return res;
+    }
+
+    private long arcsCount() {
+        long res = 0;
+        for (int u = 0; u < graph.getVerticesCount(); u++) {
+            res += graph.degree(u);
+        }
+        return res;
+    }
+
+    private static Map<String, String> parseParams(String query) {
+        Map<String, String> res = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return res;
+        }
+        for (var pair : query.split("&")) {
+            int i = pair.indexOf('=');
+            if (i < 0) {
+                throw new IllegalArgumentException("bad parameter " + pair);
+            }
+            res.put(pair.substring(0, i), pair.substring(i + 1));
+        }
+        return res;
+    }
+
+    /**
+     * @return false for the default value, true for the other one
+     */
+    private static boolean choose(Map<String, String> params, String name, String default_value, String other) {
+        var value = params.getOrDefault(name, default_value);
+        if (!value.equals(default_value) && !value.equals(other)) {
+            throw new IllegalArgumentException("bad " + name + " " + value);
+        }
+        return value.equals(other);
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        failures.incrementAndGet();
+        send(exchange, status, "text/plain; charset=utf-8", message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, String content_type, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", content_type);
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    // requests of one start, its own monitor so close never blocks handlers or getPort
+    private static final class Requests {
+        private boolean closing = false;
+        private int running = 0;
+
+        // @return false once closing
+        synchronized boolean enter() {
+            if (closing) {
+                return false;
+            }
+            running++;
+            return true;
+        }
+
+        synchronized void leave() {
+            running--;
+            notifyAll();
+        }
+
+        synchronized void refuse() {
+            closing = true;
+        }
+
+        // waits until no request runs or the deadline passes
+        synchronized void drain(long deadline) throws InterruptedException {
+            long left = deadline - System.nanoTime();
+            while (running > 0 && left > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+                left = deadline - System.nanoTime();
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package org.nathan.algorithmsJava.graph.server;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * closed loop load generator for GraphQueryServer, every client sends its next batch once the last one is answered.
+ * batches hold uniformly random vertices drawn from a seeded generator, so runs are repeatable.
+ */
+public final class LoadGenerator {
+    private final URI query_uri;
+    private final int vertices_count;
+    private final int clients;
+    private final int sources_per_batch;
+    private final int targets_per_batch;
+    private final long seed;
+
+    /**
+     * @param server            base uri of the server, e.g. http://127.0.0.1:8080
+     * @param vertices_count    vertices of the served graph
+     * @param clients           concurrent connections
+     * @param sources_per_batch sources of every batch
+     * @param targets_per_batch targets of every batch, 0 for every vertex
+     * @param seed              seed of client i is seed + i
+     */
+    public LoadGenerator(@NotNull URI server, int vertices_count, int clients,
+                         int sources_per_batch, int targets_per_batch, long seed) {
+        if (vertices_count < 1 || clients < 1 || sources_per_batch < 1 || targets_per_batch < 0) {
+            throw new IllegalArgumentException("bad load settings");
+        }
+        this.query_uri = server.resolve(GraphQueryServer.QUERY_PATH);
+        this.vertices_count = vertices_count;
+        this.clients = clients;
+        this.sources_per_batch = sources_per_batch;
+        this.targets_per_batch = targets_per_batch;
+        this.seed = seed;
+    }
+
+    /**
+     * @param requests_per_client batches sent by every client
+     * @param algorithm           "dijkstra" or "bfs"
+     */
+    public Report run(int requests_per_client, @NotNull String algorithm) {
+        if (requests_per_client < 1) {
+            throw new IllegalArgumentException("requests should >= 1.");
+        }
+        var uri = URI.create(query_uri + "?algorithm=" + algorithm);
+        var http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        var executor = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            var random = new Random(seed + c);
+            futures.add(executor.submit(() -> runClient(http, uri, random, requests_per_client)));
+        }
+        var latencies = new long[clients * requests_per_client];
+        int errors = 0;
+        try {
+            for (int c = 0; c < clients; c++) {
+                var client_latencies = futures.get(c).get();
+                for (int i = 0; i < requests_per_client; i++) {
+                    if (client_latencies[i] < 0) {
+                        errors++;
+                    }
+                    latencies[c * requests_per_client + i] = Math.abs(client_latencies[i]);
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        long pairs = (long) sources_per_batch * (targets_per_batch == 0 ? vertices_count : targets_per_batch);
+        return new Report(latencies, errors, elapsed, pairs);
+    }
+
+    // latency of every request in nanoseconds, negative if it failed
+    private long[] runClient(HttpClient http, URI uri, Random random, int requests) {
+        var res = new long[requests];
+        var sources = new int[sources_per_batch];
+        var targets = new int[targets_per_batch];
+        for (int i = 0; i < requests; i++) {
+            for (int j = 0; j < sources.length; j++) {
+                sources[j] = random.nextInt(vertices_count);
+            }
+            for (int j = 0; j < targets.length; j++) {
+                targets[j] = random.nextInt(vertices_count);
+            }
+            var request = HttpRequest.newBuilder(uri)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(GraphQueryServer.encodeBatch(sources, targets)))
+                    .build();
+            long begin = System.nanoTime();
+            boolean ok;
+            try {
+                ok = http.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode() == 200;
+            }
+            catch (IOException e) {
+                ok = false;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return res;
+            }
+            long latency = Math.max(System.nanoTime() - begin, 1);
+            res[i] = ok ? latency : -latency;
+        }
+        return res;
+    }
+
+    public static final class Report {
+        private final long[] latencies; // sorted, nanoseconds
+        private final int errors;
+        private final long elapsed_nanos;
+        private final long pairs_per_batch;
+
+        Report(long[] latencies, int errors, long elapsed_nanos, long pairs_per_batch) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsed_nanos = elapsed_nanos;
+            this.pairs_per_batch = pairs_per_batch;
+        }
+
+        public int getRequests() {
+            return latencies.length;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public long getElapsedNanos() {
+            return elapsed_nanos;
+        }
+
+        /**
+         * @return batches answered per second
+         */
+        public double getThroughput() {
+            return (latencies.length - errors) / (elapsed_nanos / 1e9);
+        }
+
+        /**
+         * @return (source, target) pairs answered per second
+         */
+        public double getPairsPerSecond() {
+            return getThroughput() * pairs_per_batch;
+        }
+
+        /**
+         * @param p in [0, 100]
+         * @return latency in nanoseconds at percentile p, nearest rank, failed requests included
+         */
+        public long getLatencyPercentile(double p) {
+            if (!(p >= 0 && p <= 100)) {
+                throw new IllegalArgumentException("percentile should in [0, 100].");
+            }
+            int rank = (int) Math.ceil(p / 100 * latencies.length);
+            return latencies[Math.max(rank - 1, 0)];
+        }
+
+        public double getMeanLatency() {
+            double sum = 0;
+            for (var l : latencies) {
+                sum += l;
+            }
+            return sum / latencies.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests %d, errors %d, %.1f batches/s, %.0f pairs/s, " +
+                            "latency us: mean %.0f, p50 %d, p99 %d, max %d",
+                    getRequests(), errors, getThroughput(), getPairsPerSecond(), getMeanLatency() / 1e3,
+                    getLatencyPercentile(50) / 1000, getLatencyPercentile(99) / 1000,
+                    getLatencyPercentile(100) / 1000);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.nathan.algorithmsJava.structures;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * lock-free disjoint set over elements 0..n-1, see Jayanti and Tarjan.
+ * roots are linked by a fixed pseudo random priority with CAS, so priority strictly
+ * increases along any parent chain and findSet ends within n steps (wait-free).
+ * path splitting is done with CAS and never blocks other threads.
+ */
+public final class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+    private final AtomicInteger sets_count;
+
+    public ConcurrentDisjointSet(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n should >= 0.");
+        }
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+        sets_count = new AtomicInteger(n);
+    }
+
+    /**
+     * find identifier of the set of an element,
+     * the identifier may change afterwards if another thread unions the set
+     *
+     * @param x element
+     * @return identifier
+     */
+    public int findSet(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int g = parent.get(p);
+            if (p != g) {
+                parent.compareAndSet(x, p, g); // failure means someone else shortened it
+            }
+            x = p;
+        }
+    }
+
+    /**
+     * linearizable
+     *
+     * @return false if a and b were already in the same set
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            a = findSet(a);
+            b = findSet(b);
+            if (a == b) {
+                return false;
+            }
+            if (lowerPriority(a, b)) {
+                if (parent.compareAndSet(a, a, b)) {
+                    sets_count.decrementAndGet();
+                    return true;
+                }
+            }
+            else if (parent.compareAndSet(b, b, a)) {
+                sets_count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * linearizable
+     */
+    public boolean sameSet(int a, int b) {
+        while (true) {
+            a = findSet(a);
+            b = findSet(b);
+            if (a == b) {
+                return true;
+            }
+            if (parent.get(a) == a) { // a was still a root after b was found
+                return false;
+            }
+        }
+    }
+
+    public int getSetsCount() {
+        return sets_count.get();
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * should be called when no union is running
+     *
+     * @return label of each element, labels are 0..getSetsCount()-1 in order of first appearance
+     */
+    public int[] componentLabels() {
+        int n = parent.length();
+        var labels = new int[n];
+        var root_label = new int[n];
+        Arrays.fill(root_label, -1);
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            int r = findSet(i);
+            if (root_label[r] == -1) {
+                root_label[r] = next++;
+            }
+            labels[i] = root_label[r];
+        }
+        return labels;
+    }
+
+    private static boolean lowerPriority(int a, int b) {
+        int pa = mix(a);
+        int pb = mix(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    // murmur3 finalizer, a fixed random permutation of int
+    private static int mix(int x) {
+        x ^= x >>> 16;
+        x *= 0x85ebca6b;
+        x ^= x >>> 13;
+        x *= 0xc2b2ae35;
+        x ^= x >>> 16;
+        return x;
+    }
+}
@@ -2,6 +2,7 @@ package org.nathan.algorithmsJava.structures;
 
 
 import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
 
 import java.util.*;
 
@@ -12,11 +13,20 @@ public final class FibonacciHeap<K, V> {
     private final Comparator<K> keyComparator;
     Node<K, V> rootList = null;
     int count = 0; // number of nodes
+    private AlgorithmMetrics metrics = AlgorithmMetrics.NONE;
 
     public FibonacciHeap(@NotNull Comparator<K> keyComparator) {
         this.keyComparator = keyComparator;
     }
 
+    /**
+     * report extract-mins, key decreases, consolidations and heap size to metrics, current size is reported at once
+     */
+    public void setMetrics(@NotNull AlgorithmMetrics metrics) {
+        this.metrics = metrics;
+        metrics.queueSize(count);
+    }
+
     public static <K, V> FibonacciHeap<K, V> union(@NotNull FibonacciHeap<K, V> f1, @NotNull FibonacciHeap<K, V> f2) {
         var res = new FibonacciHeap<K, V>(f1.keyComparator);
         res.rootList = f1.rootList;
@@ -94,6 +104,7 @@ public final class FibonacciHeap<K, V> {
 
     private void insert(Node<K, V> x) {
         count++;
+        metrics.queueSize(count);
         value_Node_map.put(x.value, x);
         if (rootList == null) {
             rootList = x;
@@ -135,6 +146,7 @@ public final class FibonacciHeap<K, V> {
                 consolidate();
             }
             count--;
+            metrics.extractMin();
         }
         else {
             throw new NoSuchElementException();
@@ -144,6 +156,7 @@ public final class FibonacciHeap<K, V> {
     }
 
     private void consolidate() {
+        metrics.consolidation();
         List<Node<K, V>> A = new ArrayList<>();
         int len = upperBound() + 1;
         for (int i = 0; i < len; i++) {
@@ -200,6 +213,7 @@ public final class FibonacciHeap<K, V> {
             throw new IllegalArgumentException("New key should smaller than old key.");
         }
         else {
+            metrics.decreaseKey();
             x.key = new_key;
             var y = x.parent;
             if (y != null) {
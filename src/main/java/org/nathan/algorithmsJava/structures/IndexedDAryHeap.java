@@ -0,0 +1,186 @@
+package org.nathan.algorithmsJava.structures;
+
+import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// dynamic minimum priority queue over int indices in [0, capacity) with primitive double keys
+// position array replaces the value-node hash map of MinHeap
+public final class IndexedDAryHeap {
+    private static final int NONE = -1;
+    private final int d;
+    private final int[] heap; // heap slot -> index
+    private final int[] position; // index -> heap slot, NONE if absent
+    private final double[] keys; // index -> key
+    private int heap_size = 0;
+    private AlgorithmMetrics metrics = AlgorithmMetrics.NONE;
+
+    public IndexedDAryHeap(int capacity) {
+        this(capacity, 4);
+    }
+
+    public IndexedDAryHeap(int capacity, int d) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity should >= 0.");
+        }
+        if (d < 2) {
+            throw new IllegalArgumentException("d should >= 2.");
+        }
+        this.d = d;
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(position, NONE);
+    }
+
+    /**
+     * report extract-mins, key decreases and heap size to metrics, current size is reported at once
+     */
+    public void setMetrics(@NotNull AlgorithmMetrics metrics) {
+        this.metrics = metrics;
+        metrics.queueSize(heap_size);
+    }
+
+    public void insert(int index, double key) {
+        if (position[index] != NONE) {
+            throw new IllegalArgumentException("index should be unique");
+        }
+        keys[index] = key;
+        heap[heap_size] = index;
+        position[index] = heap_size;
+        siftUp(heap_size++);
+        metrics.queueSize(heap_size);
+    }
+
+    public boolean contains(int index) {
+        return position[index] != NONE;
+    }
+
+    public double getKey(int index) {
+        if (position[index] == NONE) {
+            throw new NoSuchElementException("No such index.");
+        }
+        return keys[index];
+    }
+
+    public int minIndex() {
+        if (heap_size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    public double minKey() {
+        return keys[minIndex()];
+    }
+
+    public int extractMin() {
+        if (heap_size == 0) {
+            throw new NoSuchElementException();
+        }
+        int res = heap[0];
+        position[res] = NONE;
+        heap_size--;
+        if (heap_size > 0) {
+            heap[0] = heap[heap_size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        metrics.extractMin();
+        return res;
+    }
+
+    public void decreaseKey(int index, double new_key) {
+        int slot = position[index];
+        if (slot == NONE) {
+            throw new NoSuchElementException("No such index.");
+        }
+        if (new_key > keys[index]) {
+            throw new IllegalArgumentException("new key is larger than current key.");
+        }
+        keys[index] = new_key;
+        siftUp(slot);
+        metrics.decreaseKey();
+    }
+
+    public void updateKey(int index, double new_key) {
+        int slot = position[index];
+        if (slot == NONE) {
+            throw new NoSuchElementException("No such index.");
+        }
+        var old_key = keys[index];
+        keys[index] = new_key;
+        if (new_key < old_key) {
+            siftUp(slot);
+            metrics.decreaseKey();
+        }
+        else if (new_key > old_key) {
+            siftDown(slot);
+        }
+    }
+
+    public int heapSize() {
+        return heap_size;
+    }
+
+    public boolean isEmpty() {
+        return heap_size == 0;
+    }
+
+    public void clear() {
+        for (int i = 0; i < heap_size; i++) {
+            position[heap[i]] = NONE;
+        }
+        heap_size = 0;
+    }
+
+    // hole insertion, one write per level instead of a swap
+    private void siftUp(int slot) {
+        int index = heap[slot];
+        double key = keys[index];
+        while (slot > 0) {
+            int p_slot = (slot - 1) / d;
+            int p_index = heap[p_slot];
+            if (keys[p_index] <= key) {
+                break;
+            }
+            heap[slot] = p_index;
+            position[p_index] = slot;
+            slot = p_slot;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int index = heap[slot];
+        double key = keys[index];
+        while (true) {
+            int first_child = slot * d + 1;
+            if (first_child >= heap_size) {
+                break;
+            }
+            int last_child = Math.min(first_child + d, heap_size);
+            int min_slot = first_child;
+            double min_key = keys[heap[first_child]];
+            for (int c = first_child + 1; c < last_child; c++) {
+                double c_key = keys[heap[c]];
+                if (c_key < min_key) {
+                    min_key = c_key;
+                    min_slot = c;
+                }
+            }
+            if (min_key >= key) {
+                break;
+            }
+            int min_index = heap[min_slot];
+            heap[slot] = min_index;
+            position[min_index] = slot;
+            slot = min_slot;
+        }
+        heap[slot] = index;
+        position[index] = slot;
+    }
+}
@@ -0,0 +1,113 @@
+package org.nathan.algorithmsJava.structures;
+
+import java.util.Arrays;
+
+/**
+ * disjoint set over elements 0..n-1 stored in int arrays,
+ * union by size and iterative path halving
+ */
+public final class IntDisjointSet {
+    private final int[] parent;
+    private final int[] size;
+    private int sets_count;
+
+    public IntDisjointSet(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n should >= 0.");
+        }
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(size, 1);
+        sets_count = n;
+    }
+
+    /**
+     * find identifier of the set of an element
+     *
+     * @param x element
+     * @return identifier
+     */
+    public int findSet(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * @return false if a and b are already in the same set
+     */
+    public boolean union(int a, int b) {
+        int x = findSet(a);
+        int y = findSet(b);
+        if (x == y) {
+            return false;
+        }
+        if (size[x] < size[y]) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        parent[y] = x;
+        size[x] += size[y];
+        sets_count--;
+        return true;
+    }
+
+    /**
+     * union a[i] and b[i] for every i
+     *
+     * @return number of successful merges
+     */
+    public int unionAll(int[] a, int[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("length mismatch");
+        }
+        int merged = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (union(a[i], b[i])) {
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    public boolean sameSet(int a, int b) {
+        return findSet(a) == findSet(b);
+    }
+
+    public int setSize(int x) {
+        return size[findSet(x)];
+    }
+
+    public int getSetsCount() {
+        return sets_count;
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * @return label of each element, labels are 0..getSetsCount()-1 in order of first appearance
+     */
+    public int[] componentLabels() {
+        int n = parent.length;
+        var labels = new int[n];
+        var root_label = new int[n];
+        Arrays.fill(root_label, -1);
+        int next = 0;
+        for (int i = 0; i < n; i++) {
+            int r = findSet(i);
+            if (root_label[r] == -1) {
+                root_label[r] = next++;
+            }
+            labels[i] = root_label[r];
+        }
+        return labels;
+    }
+}
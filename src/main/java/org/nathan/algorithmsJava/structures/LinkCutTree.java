@@ -0,0 +1,236 @@
+package org.nathan.algorithmsJava.structures;
+
+import java.util.Arrays;
+
+// dynamic forest of int nodes, every node holds a double value
+// link, cut, connectivity and path maximum in amortized O(lgN)
+// preferred paths are kept in splay trees, see Sleator and Tarjan
+public final class LinkCutTree {
+    private static final int NONE = -1;
+    private int[] left;
+    private int[] right;
+    private int[] parent; // splay parent, or path parent if node is root of its splay tree
+    private boolean[] flip; // lazy reversal
+    private double[] value;
+    private int[] max_node; // node with maximum value in splay subtree
+    private int[] stack;
+    private int size = 0;
+
+    public LinkCutTree() {
+        this(16);
+    }
+
+    public LinkCutTree(int capacity) {
+        capacity = Math.max(capacity, 1);
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        flip = new boolean[capacity];
+        value = new double[capacity];
+        max_node = new int[capacity];
+        stack = new int[capacity];
+    }
+
+    /**
+     * @param v value of the new node
+     * @return id of the new isolated node
+     */
+    public int addNode(double v) {
+        if (size == left.length) {
+            grow();
+        }
+        int x = size++;
+        left[x] = NONE;
+        right[x] = NONE;
+        parent[x] = NONE;
+        flip[x] = false;
+        value[x] = v;
+        max_node[x] = x;
+        return x;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getValue(int x) {
+        return value[x];
+    }
+
+    public void setValue(int x, double v) {
+        access(x);
+        value[x] = v;
+        pull(x);
+    }
+
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    /**
+     * add edge x - y, x and y should be in different trees
+     */
+    public void link(int x, int y) {
+        if (connected(x, y)) {
+            throw new IllegalArgumentException("nodes are already connected");
+        }
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    /**
+     * remove edge x - y, the edge should exist
+     */
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        if (left[y] != x || right[x] != NONE) {
+            throw new IllegalArgumentException("no such edge");
+        }
+        left[y] = NONE;
+        parent[x] = NONE;
+        pull(y);
+    }
+
+    /**
+     * @return node with maximum value on the path x ~ y, x and y should be connected
+     */
+    public int pathMax(int x, int y) {
+        if (!connected(x, y)) {
+            throw new IllegalArgumentException("nodes are not connected");
+        }
+        makeRoot(x);
+        access(y);
+        return max_node[y];
+    }
+
+    public int findRoot(int x) {
+        access(x);
+        while (true) {
+            push(x);
+            if (left[x] == NONE) {
+                break;
+            }
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        flip[x] = !flip[x];
+    }
+
+    // make root ~ x the preferred path, x becomes root of its splay tree
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            pull(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void pull(int x) {
+        int m = x;
+        int l = left[x];
+        int r = right[x];
+        if (l != NONE && value[max_node[l]] > value[m]) {
+            m = max_node[l];
+        }
+        if (r != NONE && value[max_node[r]] > value[m]) {
+            m = max_node[r];
+        }
+        max_node[x] = m;
+    }
+
+    private void push(int x) {
+        if (flip[x]) {
+            int t = left[x];
+            left[x] = right[x];
+            right[x] = t;
+            if (left[x] != NONE) {
+                flip[left[x]] = !flip[left[x]];
+            }
+            if (right[x] != NONE) {
+                flip[right[x]] = !flip[right[x]];
+            }
+            flip[x] = false;
+        }
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        boolean p_is_root = isSplayRoot(p);
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        }
+        else {
+            right[p] = left[x];
+            if (left[x] != NONE) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+        parent[x] = g;
+        if (!p_is_root) {
+            if (left[g] == p) {
+                left[g] = x;
+            }
+            else {
+                right[g] = x;
+            }
+        }
+        pull(p);
+        pull(x);
+    }
+
+    private void splay(int x) {
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[top++] = parent[y];
+        }
+        while (top > 0) {
+            push(stack[--top]);
+        }
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                if ((left[g] == p) == (left[p] == x)) {
+                    rotate(p);
+                }
+                else {
+                    rotate(x);
+                }
+            }
+            rotate(x);
+        }
+    }
+
+    private void grow() {
+        int capacity = left.length * 2;
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        flip = Arrays.copyOf(flip, capacity);
+        value = Arrays.copyOf(value, capacity);
+        max_node = Arrays.copyOf(max_node, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+    }
+}
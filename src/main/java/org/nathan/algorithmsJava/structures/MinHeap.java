@@ -1,6 +1,7 @@
 package org.nathan.algorithmsJava.structures;
 
 import org.jetbrains.annotations.NotNull;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
 import org.nathan.algorithmsJava.tools.containers.Tuple;
 
 import java.util.*;
@@ -12,6 +13,7 @@ public final class MinHeap<K, V> implements Iterable<Tuple<K, V>> {
     private final Map<V, Node<K, V>> value_node_map = new HashMap<>();
     private final DualToIntFunction<K, K> key_comparer;
     private boolean iterating = false;
+    private AlgorithmMetrics metrics = AlgorithmMetrics.NONE;
 
     public interface DualToIntFunction<Arg1, Arg2> {
         int applyAsInt(Arg1 arg1, Arg2 arg2);
@@ -37,6 +39,14 @@ public final class MinHeap<K, V> implements Iterable<Tuple<K, V>> {
         buildMinHeap();
     }
 
+    /**
+     * report extract-mins, key decreases and heap size to metrics, current size is reported at once
+     */
+    public void setMetrics(@NotNull AlgorithmMetrics metrics) {
+        this.metrics = metrics;
+        metrics.queueSize(heapSize());
+    }
+
     public V extractMin() {
         modified();
         if (heapSize() == 0) {
@@ -47,6 +57,7 @@ public final class MinHeap<K, V> implements Iterable<Tuple<K, V>> {
         array.remove(heapSize() - 1);
         minHeapify(0);
         value_node_map.remove(res.value);
+        metrics.extractMin();
         return res.value;
     }
 
@@ -59,6 +70,7 @@ public final class MinHeap<K, V> implements Iterable<Tuple<K, V>> {
         array.add(n);
         value_node_map.put(value, n);
         decreaseKey(heapSize() - 1);
+        metrics.queueSize(heapSize());
     }
 
     public boolean contains(@NotNull V value) {
@@ -78,6 +90,7 @@ public final class MinHeap<K, V> implements Iterable<Tuple<K, V>> {
         if (key_comparer.applyAsInt(new_key, node.key) < 0) {
             node.key = new_key;
             decreaseKey(node.index);
+            metrics.decreaseKey();
         }
         else if (key_comparer.applyAsInt(new_key, node.key) > 0) {
             node.key = new_key;
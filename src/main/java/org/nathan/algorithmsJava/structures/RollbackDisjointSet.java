@@ -0,0 +1,99 @@
+package org.nathan.algorithmsJava.structures;
+
+import java.util.Arrays;
+
+/**
+ * disjoint set over elements 0..n-1 that can undo unions,
+ * union by rank as DisjointSet but without path compression, so findSet is O(lgN)
+ * and every union only changes one parent and at most one rank
+ */
+public final class RollbackDisjointSet {
+    private final int[] parent;
+    private final int[] rank;
+    private int[] history; // linked child of each union, negative if the rank of its new parent grew
+    private int history_size = 0;
+    private int sets_count;
+
+    public RollbackDisjointSet(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n should >= 0.");
+        }
+        parent = new int[n];
+        rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        history = new int[16];
+        sets_count = n;
+    }
+
+    public int findSet(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * @return false if a and b are already in the same set, nothing is recorded then
+     */
+    public boolean union(int a, int b) {
+        int x = findSet(a);
+        int y = findSet(b);
+        if (x == y) {
+            return false;
+        }
+        if (rank[x] > rank[y]) {
+            int t = x;
+            x = y;
+            y = t;
+        }
+        parent[x] = y;
+        boolean rank_grew = rank[x] == rank[y];
+        if (rank_grew) {
+            rank[y]++;
+        }
+        if (history_size == history.length) {
+            history = Arrays.copyOf(history, history_size * 2);
+        }
+        history[history_size++] = rank_grew ? ~x : x;
+        sets_count--;
+        return true;
+    }
+
+    public boolean sameSet(int a, int b) {
+        return findSet(a) == findSet(b);
+    }
+
+    public int getSetsCount() {
+        return sets_count;
+    }
+
+    /**
+     * @return token of the current state for rollback()
+     */
+    public int snapshot() {
+        return history_size;
+    }
+
+    /**
+     * undo every union done after the snapshot was taken
+     *
+     * @param snapshot token returned by snapshot()
+     */
+    public void rollback(int snapshot) {
+        if (snapshot < 0 || snapshot > history_size) {
+            throw new IllegalArgumentException("invalid snapshot");
+        }
+        while (history_size > snapshot) {
+            int record = history[--history_size];
+            int x = record < 0 ? ~record : record;
+            int y = parent[x];
+            if (record < 0) {
+                rank[y]--;
+            }
+            parent[x] = x;
+            sets_count++;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.nathan.algorithmsJava.tools;
+
+/**
+ * sink of operation counts reported by graph algorithms and priority queues.
+ * every method defaults to doing nothing, NONE is the sink used when no metrics are asked for,
+ * so an uninstrumented run pays one virtual call per event that the jit inlines away.
+ * see MetricsRecorder for a sink that counts.
+ */
+public interface AlgorithmMetrics {
+    /**
+     * ignores everything
+     */
+    AlgorithmMetrics NONE = new AlgorithmMetrics() {
+    };
+
+    /**
+     * a vertex was reached for the first time
+     */
+    default void vertexVisited() {
+    }
+
+    /**
+     * an arc was examined
+     */
+    default void edgeScanned() {
+    }
+
+    /**
+     * a tentative distance or key got smaller
+     */
+    default void relaxation() {
+    }
+
+    default void decreaseKey() {
+    }
+
+    default void extractMin() {
+    }
+
+    /**
+     * a fibonacci heap merged its root list
+     */
+    default void consolidation() {
+    }
+
+    /**
+     * size of the queue, heap or stack after it grew
+     */
+    default void queueSize(int size) {
+    }
+}
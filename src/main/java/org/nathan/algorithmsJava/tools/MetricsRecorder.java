@@ -0,0 +1,143 @@
+package org.nathan.algorithmsJava.tools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * counting metrics sink, not thread safe, use one recorder per run.
+ * snapshot() copies the counters so they can be exported while recording goes on.
+ */
+public final class MetricsRecorder implements AlgorithmMetrics {
+    private long vertices_visited = 0;
+    private long edges_scanned = 0;
+    private long relaxations = 0;
+    private long decrease_keys = 0;
+    private long extract_mins = 0;
+    private long consolidations = 0;
+    private int peak_queue_size = 0;
+
+    @Override
+    public void vertexVisited() {
+        vertices_visited++;
+    }
+
+    @Override
+    public void edgeScanned() {
+        edges_scanned++;
+    }
+
+    @Override
+    public void relaxation() {
+        relaxations++;
+    }
+
+    @Override
+    public void decreaseKey() {
+        decrease_keys++;
+    }
+
+    @Override
+    public void extractMin() {
+        extract_mins++;
+    }
+
+    @Override
+    public void consolidation() {
+        consolidations++;
+    }
+
+    @Override
+    public void queueSize(int size) {
+        if (size > peak_queue_size) {
+            peak_queue_size = size;
+        }
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    public void reset() {
+        vertices_visited = 0;
+        edges_scanned = 0;
+        relaxations = 0;
+        decrease_keys = 0;
+        extract_mins = 0;
+        consolidations = 0;
+        peak_queue_size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    // immutable copy of the counters
+    public static final class Snapshot {
+        private final long vertices_visited;
+        private final long edges_scanned;
+        private final long relaxations;
+        private final long decrease_keys;
+        private final long extract_mins;
+        private final long consolidations;
+        private final int peak_queue_size;
+
+        private Snapshot(MetricsRecorder recorder) {
+            vertices_visited = recorder.vertices_visited;
+            edges_scanned = recorder.edges_scanned;
+            relaxations = recorder.relaxations;
+            decrease_keys = recorder.decrease_keys;
+            extract_mins = recorder.extract_mins;
+            consolidations = recorder.consolidations;
+            peak_queue_size = recorder.peak_queue_size;
+        }
+
+        public long getVerticesVisited() {
+            return vertices_visited;
+        }
+
+        public long getEdgesScanned() {
+            return edges_scanned;
+        }
+
+        public long getRelaxations() {
+            return relaxations;
+        }
+
+        public long getDecreaseKeys() {
+            return decrease_keys;
+        }
+
+        public long getExtractMins() {
+            return extract_mins;
+        }
+
+        public long getConsolidations() {
+            return consolidations;
+        }
+
+        public int getPeakQueueSize() {
+            return peak_queue_size;
+        }
+
+        /**
+         * @return counters by name in a stable order
+         */
+        public Map<String, Long> toMap() {
+            Map<String, Long> res = new LinkedHashMap<>();
+            res.put("vertices_visited", vertices_visited);
+            res.put("edges_scanned", edges_scanned);
+            res.put("relaxations", relaxations);
+            res.put("decrease_keys", decrease_keys);
+            res.put("extract_mins", extract_mins);
+            res.put("consolidations", consolidations);
+            res.put("peak_queue_size", (long) peak_queue_size);
+            return res;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot" + toMap();
+        }
+    }
+}
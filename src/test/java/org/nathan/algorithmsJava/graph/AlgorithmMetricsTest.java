@@ -0,0 +1,128 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.nathan.algorithmsJava.structures.MinHeap;
+import org.nathan.algorithmsJava.tools.AlgorithmMetrics;
+import org.nathan.algorithmsJava.tools.MetricsRecorder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlgorithmMetricsTest {
+    @Test
+    void traversalTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        var recorder = new MetricsRecorder();
+        var tree = BFS.breathFirstSearch(G, 0, recorder);
+        assertArrayEquals(BFS.breathFirstSearch(G, 0).getDistances(), tree.getDistances());
+        var bfs = recorder.snapshot();
+        assertEquals(400, bfs.getVerticesVisited());
+        assertEquals(2 * 760, bfs.getEdgesScanned());
+        assertTrue(bfs.getPeakQueueSize() > 1 && bfs.getPeakQueueSize() <= 40);
+        assertEquals(0, bfs.getExtractMins());
+
+        recorder.reset();
+        DFS.depthFirstSearch(G, recorder);
+        var dfs = recorder.snapshot();
+        assertEquals(400, dfs.getVerticesVisited());
+        assertEquals(2 * 760, dfs.getEdgesScanned());
+        assertTrue(dfs.getPeakQueueSize() > bfs.getPeakQueueSize());
+        // snapshots do not follow the recorder
+        assertEquals(400, bfs.getVerticesVisited());
+    }
+
+    @Test
+    void DijkstraDAryHeapTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        var recorder = new MetricsRecorder();
+        var tree = SSShortestPath.DijkstraDAryHeap(G, 0, recorder);
+        assertArrayEquals(SSShortestPath.DijkstraDAryHeap(G, 0).getDistances(), tree.getDistances());
+        var s = recorder.snapshot();
+        assertEquals(400, s.getVerticesVisited());
+        assertEquals(400, s.getExtractMins());
+        assertEquals(2 * 760, s.getEdgesScanned());
+        assertTrue(s.getRelaxations() >= 399);
+        assertEquals(0, s.getConsolidations());
+        assertTrue(s.getPeakQueueSize() >= 1);
+    }
+
+    @Test
+    void DijkstraFibonacciHeapTest() {
+        var g = SSShortestPathTest.buildDijkstraCase();
+        var recorder = new MetricsRecorder();
+        SSShortestPath.DijkstraFibonacciHeap(g, SSShortestPathTest.targetDijkstraCase, recorder);
+        var s = recorder.snapshot();
+        assertEquals(5, s.getExtractMins());
+        assertEquals(5, s.getPeakQueueSize());
+        assertEquals(10, s.getEdgesScanned());
+        assertTrue(s.getConsolidations() > 0);
+        assertEquals(s.getRelaxations(), s.getDecreaseKeys());
+        var map = s.toMap();
+        assertEquals(List.of("vertices_visited", "edges_scanned", "relaxations", "decrease_keys",
+                "extract_mins", "consolidations", "peak_queue_size"), List.copyOf(map.keySet()));
+        assertEquals(10L, map.get("edges_scanned"));
+    }
+
+    @Test
+    void PrimTest() {
+        var t = new MinSpanTreeTest().buildPrimExample();
+        var recorder = new MetricsRecorder();
+        MinSpanTree.PrimMinHeap(t.graph, t.target, recorder);
+        var heap = recorder.snapshot();
+        var csr = CSRGraph.fromLinkedGraph(t.graph);
+        recorder.reset();
+        MinSpanTree.PrimDAryHeap(csr, csr.indexOf(t.target), recorder);
+        var d_ary = recorder.snapshot();
+        assertEquals(heap.getExtractMins(), d_ary.getExtractMins());
+        assertEquals(heap.getEdgesScanned(), d_ary.getEdgesScanned());
+        assertEquals(t.graph.getAllVertices().size(), heap.getPeakQueueSize());
+        assertTrue(d_ary.getPeakQueueSize() <= heap.getPeakQueueSize());
+    }
+
+    @Test
+    void unreachableTest() {
+        var a = new BFS.BFSVertex<>("a");
+        var b = new BFS.BFSVertex<>("b");
+        var c = new BFS.BFSVertex<>("c");
+        var G = new LinkedGraph<>(List.of(a, b, c), LinkedGraph.Direction.DIRECTED);
+        G.setNeighbor(a, b, 1);
+        G.setNeighbor(c, a, 1);
+        var recorder = new MetricsRecorder();
+        SSShortestPath.DijkstraFibonacciHeap(G, a, recorder);
+        assertEquals(2, recorder.snapshot().getVerticesVisited());
+        assertEquals(3, recorder.snapshot().getExtractMins());
+        recorder.reset();
+        SSShortestPath.DijkstraMinHeap(G, a, recorder);
+        assertEquals(2, recorder.snapshot().getVerticesVisited());
+        assertEquals(3, recorder.snapshot().getExtractMins());
+
+        var x = new MinSpanTree.PrimVertex<>("x");
+        var y = new MinSpanTree.PrimVertex<>("y");
+        var z = new MinSpanTree.PrimVertex<>("z");
+        var forest = new LinkedGraph<>(List.of(x, y, z), LinkedGraph.Direction.NON_DIRECTED);
+        forest.setNeighbor(x, y, 1);
+        recorder.reset();
+        MinSpanTree.PrimFibonacciHeap(forest, x, recorder);
+        assertEquals(2, recorder.snapshot().getVerticesVisited());
+        recorder.reset();
+        MinSpanTree.PrimMinHeap(forest, x, recorder);
+        assertEquals(2, recorder.snapshot().getVerticesVisited());
+    }
+
+    @Test
+    void disabledTest() {
+        var heap = new MinHeap<Integer, String>(Integer::compare);
+        heap.setMetrics(AlgorithmMetrics.NONE);
+        heap.add("a", 3);
+        heap.add("b", 2);
+        heap.updateKey("a", 1);
+        assertEquals("a", heap.extractMin());
+        var recorder = new MetricsRecorder();
+        heap.setMetrics(recorder);
+        assertEquals(1, recorder.snapshot().getPeakQueueSize());
+        heap.extractMin();
+        assertEquals(1, recorder.snapshot().getExtractMins());
+        assertEquals(0, recorder.snapshot().getDecreaseKeys());
+    }
+}
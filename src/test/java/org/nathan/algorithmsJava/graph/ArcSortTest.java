@@ -0,0 +1,57 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArcSortTest {
+    @Test
+    void byTargetTest() {
+        var random = new Random(35);
+        for (int len : new int[]{0, 1, 2, 15, 17, 100, 5000}) {
+            var targets = new int[len + 2];
+            var weights = new double[len + 2];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = random.nextInt(Math.max(len / 4, 1));
+                weights[i] = targets[i] * 10 + random.nextInt(10); // target is recoverable from weight
+            }
+            int first = targets[0];
+            int last = targets[len + 1];
+            ArcSort.byTarget(targets, weights, 1, len + 1);
+            assertEquals(first, targets[0]);
+            assertEquals(last, targets[len + 1]);
+            for (int i = 1; i <= len; i++) {
+                assertEquals(targets[i], (int) weights[i] / 10);
+                if (i > 1) {
+                    assertTrue(targets[i - 1] <= targets[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void byWeightTest() {
+        var random = new Random(28);
+        for (int len : new int[]{0, 1, 2, 15, 17, 100, 5000}) {
+            var weights = new double[len];
+            var arcs = new int[len];
+            var original = new double[len];
+            for (int i = 0; i < len; i++) {
+                weights[i] = original[i] = random.nextInt(len / 2 + 1) + random.nextDouble();
+                arcs[i] = i;
+            }
+            ArcSort.byWeight(weights, arcs, 0, len);
+            var seen = new boolean[len];
+            for (int i = 0; i < len; i++) {
+                assertEquals(original[arcs[i]], weights[i]);
+                assertFalse(seen[arcs[i]]);
+                seen[arcs[i]] = true;
+                if (i > 0) {
+                    assertTrue(weights[i - 1] <= weights[i]);
+                }
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class BFSTest {
@@ -18,6 +19,15 @@ class BFSTest {
         assertEquals(List.of('s', 'w', 'x', 'y'), BFS.getPath(vs.get(1), vs.get(7)));
     }
 
+    @Test
+    void breathFirstSearchIntGraph() {
+        var vs = Data.makeVertexes();
+        var csr = CSRGraph.fromLinkedGraph(Data.makeGraph(vs));
+        var tree = BFS.breathFirstSearch(csr, 1);
+        assertArrayEquals(new int[]{1, 5, 6, 7}, tree.getPath(7));
+        assertEquals(3, tree.getDistance(7));
+    }
+
     public static class Data {
         public static String names = "rstuvwxy";
 
@@ -0,0 +1,103 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BipartiteMatchingTest {
+    @Test
+    void HopcroftKarpTest() {
+        var rand = new Random();
+        for (int t = 0; t < 200; t++) {
+            int left = 1 + rand.nextInt(20);
+            int right = 1 + rand.nextInt(20);
+            List<String> vertices = new ArrayList<>();
+            for (int i = 0; i < left; i++) {
+                vertices.add("job" + i);
+            }
+            for (int i = 0; i < right; i++) {
+                vertices.add("worker" + i);
+            }
+            var G = new LinkedGraph<>(vertices, t % 2 == 0 ? LinkedGraph.Direction.DIRECTED :
+                    LinkedGraph.Direction.NON_DIRECTED);
+            var adjacency = new boolean[left][right];
+            int m = rand.nextInt(left * right + 1);
+            for (int i = 0; i < m; i++) {
+                int u = rand.nextInt(left);
+                int v = rand.nextInt(right);
+                adjacency[u][v] = true;
+                if (rand.nextBoolean()) {
+                    G.setNeighbor("job" + u, "worker" + v);
+                }
+                else {
+                    G.setNeighbor("worker" + v, "job" + u);
+                }
+            }
+            var mate = BipartiteMatching.HopcroftKarp(G, s -> s.startsWith("job"));
+            for (int u = 0; u < mate.length; u++) {
+                if (mate[u] != -1) {
+                    assertEquals(u, mate[mate[u]]);
+                    int job = Math.min(u, mate[u]);
+                    int worker = Math.max(u, mate[u]) - left;
+                    assertTrue(job < left && worker >= 0 && adjacency[job][worker]);
+                }
+            }
+            assertEquals(kuhn(adjacency, left, right), BipartiteMatching.matchingSize(mate));
+        }
+        var G = new LinkedGraph<>(List.of(0, 1), LinkedGraph.Direction.NON_DIRECTED);
+        G.setNeighbor(0, 1);
+        assertThrows(IllegalArgumentException.class, () -> BipartiteMatching.HopcroftKarp(G, v -> true));
+    }
+
+    @Test
+    void largeTest() {
+        var rand = new Random();
+        int side = 200000;
+        int m = 1000000;
+        var sources = new int[m];
+        var targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = rand.nextInt(side);
+            targets[i] = side + rand.nextInt(side);
+        }
+        var G = CSRGraph.fromEdges(2 * side, sources, targets, null, true);
+        var is_left = new boolean[2 * side];
+        Arrays.fill(is_left, 0, side, true);
+        var mate = BipartiteMatching.HopcroftKarp(G, is_left);
+        for (int u = 0; u < side; u++) {
+            if (mate[u] != -1) {
+                assertEquals(u, mate[mate[u]]);
+            }
+        }
+    }
+
+    static int kuhn(boolean[][] adjacency, int left, int right) {
+        var match_right = new int[right];
+        Arrays.fill(match_right, -1);
+        int res = 0;
+        for (int u = 0; u < left; u++) {
+            if (tryKuhn(u, adjacency, new boolean[right], match_right)) {
+                res++;
+            }
+        }
+        return res;
+    }
+
+    static boolean tryKuhn(int u, boolean[][] adjacency, boolean[] used, int[] match_right) {
+        for (int v = 0; v < used.length; v++) {
+            if (adjacency[u][v] && !used[v]) {
+                used[v] = true;
+                if (match_right[v] == -1 || tryKuhn(match_right[v], adjacency, used, match_right)) {
+                    match_right[v] = u;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
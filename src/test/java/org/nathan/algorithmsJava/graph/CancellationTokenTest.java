@@ -0,0 +1,130 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.nathan.algorithmsJava.graph.BFS.BFSVertex;
+
+class CancellationTokenTest {
+    @Test
+    void tokenTest() throws InterruptedException {
+        var token = CancellationToken.create();
+        assertFalse(token.isCancelled());
+        token.throwIfCancelled();
+        token.cancel();
+        assertTrue(token.isCancelled());
+        assertThrows(CancellationException.class, token::throwIfCancelled);
+
+        var timed = CancellationToken.withTimeout(10, TimeUnit.MILLISECONDS);
+        Thread.sleep(20);
+        var e = assertThrows(CancellationException.class, timed::throwIfCancelled);
+        assertEquals("deadline exceeded", e.getMessage());
+        assertThrows(UnsupportedOperationException.class, CancellationToken.NONE::cancel);
+    }
+
+    @Test
+    void algorithmsTest() {
+        int n = 300;
+        var W = new double[n][n];
+        var rand = new Random();
+        for (var row : W) {
+            Arrays.setAll(row, i -> rand.nextInt(100));
+        }
+        var cancelled = CancellationToken.create();
+        cancelled.cancel();
+        assertThrows(CancellationException.class, () -> APShortestPath.FloydWarshall(W, cancelled));
+        assertThrows(CancellationException.class, () -> APShortestPath.slowAllPairsShortestPaths(W, cancelled));
+        assertThrows(CancellationException.class, () -> APShortestPath.transitiveClosure(W, cancelled));
+        assertEquals(n, APShortestPath.FloydWarshall(W, CancellationToken.create()).length);
+
+        var deadline = CancellationToken.withTimeout(50, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        assertThrows(CancellationException.class, () -> APShortestPath.slowAllPairsShortestPaths(W, deadline));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+        var G = VertexOrderingTest.shuffledGrid();
+        assertThrows(CancellationException.class, () -> KShortestPaths.Yen(G, 0, 399, 10, cancelled));
+        var P = GraphPartition.labelPropagation(G, 2);
+        assertThrows(CancellationException.class, () -> SSShortestPath.parallelBellmanFord(P, 0, cancelled));
+    }
+
+    @Test
+    void flowMatchingComponentsTest() {
+        var cancelled = CancellationToken.create();
+        cancelled.cancel();
+        var graph = new LinkedGraph<>(List.of(0, 1, 2), LinkedGraph.Direction.DIRECTED);
+        graph.setNeighbor(0, 1, 2);
+        graph.setNeighbor(1, 2, 1);
+        assertThrows(CancellationException.class, () -> MaxFlow.pushRelabel(graph, 0, 2, cancelled));
+        assertEquals(1, MaxFlow.pushRelabel(graph, 0, 2, CancellationToken.create()).getValue());
+
+        var G = VertexOrderingTest.shuffledGrid();
+        assertThrows(CancellationException.class, () -> ConnectedComponents.afforest(G, cancelled));
+        assertArrayEquals(ConnectedComponents.afforest(G), ConnectedComponents.afforest(G, CancellationToken.create()));
+
+        var bipartite = CSRGraph.fromEdges(4, new int[]{0, 0, 1}, new int[]{2, 3, 2}, null, true);
+        var is_left = new boolean[]{true, true, false, false};
+        assertThrows(CancellationException.class, () -> BipartiteMatching.HopcroftKarp(bipartite, is_left, cancelled));
+        assertEquals(2, BipartiteMatching.matchingSize(
+                BipartiteMatching.HopcroftKarp(bipartite, is_left, CancellationToken.create())));
+
+        var dynamic = new DynamicShortestPaths(G, SSShortestPath.DijkstraDAryHeap(G, 0));
+        assertThrows(CancellationException.class,
+                () -> dynamic.updateWeights(new int[]{0, 1}, new double[]{5, 5}, cancelled));
+        assertEquals(1, dynamic.getWeight(0));
+        assertEquals(0, dynamic.getLastRepairSize());
+        dynamic.updateWeights(new int[]{0, 1}, new double[]{5, 5}, CancellationToken.create());
+        assertEquals(5, dynamic.getWeight(1));
+        var expected = SSShortestPath.DijkstraDAryHeap(dynamicGraph(G, dynamic), 0);
+        for (int v = 0; v < G.getVerticesCount(); v++) {
+            assertEquals(expected.getDistance(v), dynamic.getDistance(v));
+        }
+    }
+
+    // graph of the current edges of dynamic, edge e of G is arc e
+    static CSRGraph<Integer> dynamicGraph(CSRGraph<Integer> G, DynamicShortestPaths dynamic) {
+        int m = G.getEdgesCount();
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        for (int u = 0; u < G.getVerticesCount(); u++) {
+            for (int e = G.begin(u); e < G.end(u); e++) {
+                sources[e] = u;
+                targets[e] = G.target(e);
+                weights[e] = dynamic.getWeight(e);
+            }
+        }
+        return CSRGraph.fromEdges(G.getVerticesCount(), sources, targets, weights, true);
+    }
+
+    @Test
+    void JohnsonRestoresWeightsTest() {
+        var graph = APShortestPathTest.build();
+        List<Double> before = new ArrayList<>();
+        for (var edge : graph.iterateEdges(true)) {
+            before.add(edge.getWeight());
+        }
+        var token = CancellationToken.create();
+        APShortestPath.ShortestPathDijkstra cancelling = new APShortestPath.ShortestPathDijkstra() {
+            @Override
+            public <T> void apply(LinkedGraph<BFSVertex<T>> G, BFSVertex<T> s) {
+                SSShortestPath.DijkstraFibonacciHeap(G, s);
+                token.cancel();
+            }
+        };
+        assertThrows(CancellationException.class, () -> APShortestPath.Johnson(graph, cancelling, token));
+        List<Double> after = new ArrayList<>();
+        for (var edge : graph.iterateEdges(true)) {
+            after.add(edge.getWeight());
+        }
+        assertEquals(before, after);
+        assertTrue(APShortestPath.Johnson(graph, SSShortestPath::DijkstraFibonacciHeap).isPresent());
+    }
+}
@@ -0,0 +1,105 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedGraphTest {
+    static CSRGraph<Integer> randomGraph(int n, int m, boolean weighted) {
+        var rand = new Random();
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = rand.nextInt(n);
+            // mostly local edges, as after a locality reordering
+            targets[i] = Math.floorMod(sources[i] + rand.nextInt(64) - 32, n);
+            weights[i] = rand.nextInt(1000) / 10.0;
+        }
+        return CSRGraph.fromEdges(n, sources, targets, weighted ? weights : null, false);
+    }
+
+    static double treeWeight(IndexedGraph G, int[] parent) {
+        double res = 0;
+        for (int v = 0; v < parent.length; v++) {
+            if (parent[v] != -1) {
+                double w = Double.POSITIVE_INFINITY;
+                for (int e = G.begin(v); e < G.end(v); e++) {
+                    if (G.target(e) == parent[v]) {
+                        w = Math.min(w, G.weight(e));
+                    }
+                }
+                res += w;
+            }
+        }
+        return res;
+    }
+
+    @Test
+    void exactWeightTest() {
+        var csr = randomGraph(2000, 10000, true);
+        var compressed = CompressedGraph.fromIndexed(csr, false);
+        assertEquals(csr.getEdgesCount(), compressed.getEdgesCount());
+        var cursor = compressed.newCursor();
+        for (int u = 0; u < csr.getVerticesCount(); u++) {
+            assertEquals(csr.degree(u), compressed.degree(u));
+            cursor.reset(u);
+            double sum = 0;
+            int previous = -1;
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                assertTrue(previous <= v);
+                previous = v;
+                sum += v * cursor.weight();
+            }
+            double expected = 0;
+            for (int e = csr.begin(u); e < csr.end(u); e++) {
+                expected += csr.target(e) * csr.weight(e);
+            }
+            assertEquals(expected, sum, 1e-6);
+        }
+        var bfs1 = BFS.breathFirstSearch(csr, 0);
+        var bfs2 = BFS.breathFirstSearch(compressed, 0);
+        assertArrayEquals(bfs1.getDistances(), bfs2.getDistances());
+        var prim1 = MinSpanTree.PrimDAryHeap(csr, 0);
+        var prim2 = MinSpanTree.PrimDAryHeap(compressed, 0);
+        assertEquals(treeWeight(csr, prim1), treeWeight(csr, prim2), 1e-6);
+        var forest = DFS.depthFirstSearch(compressed);
+        for (int v = 0; v < csr.getVerticesCount(); v++) {
+            int p = forest.getParent(v);
+            assertTrue(forest.getDiscover(v) < forest.getFinish(v));
+            if (p != -1) {
+                assertTrue(forest.getDiscover(p) < forest.getDiscover(v));
+                assertTrue(forest.getFinish(v) < forest.getFinish(p));
+            }
+        }
+    }
+
+    @Test
+    void compressionTest() {
+        var csr = randomGraph(100_000, 500_000, true);
+        long csr_bytes = (long) (csr.getVerticesCount() + 1) * Integer.BYTES +
+                (long) csr.getEdgesCount() * (Integer.BYTES + Double.BYTES);
+        var quantized = CompressedGraph.fromIndexed(csr, true);
+        assertTrue(csr_bytes > 3 * quantized.memoryBytes());
+        var cursor = quantized.newCursor();
+        for (int u = 0; u < 100; u++) {
+            cursor.reset(u);
+            int e = csr.begin(u);
+            while (cursor.hasNext()) {
+                int v = cursor.next();
+                boolean found = false;
+                for (int f = csr.begin(u); f < csr.end(u); f++) {
+                    found |= csr.target(f) == v && Math.abs(csr.weight(f) - cursor.weight()) <= 99.9 / 131070 + 1e-9;
+                }
+                assertTrue(found);
+                e++;
+            }
+            assertEquals(csr.end(u), e);
+        }
+        var unweighted = CompressedGraph.fromIndexed(randomGraph(100_000, 500_000, false), false);
+        assertTrue(csr_bytes > 5 * unweighted.memoryBytes());
+    }
+}
@@ -0,0 +1,109 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGraphTest {
+    @Test
+    void parallelIngestionTest() throws Exception {
+        int threads = 4;
+        int n = 2000;
+        int m = 40_000;
+        var rand = new Random();
+        var sources = new int[m];
+        var targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = rand.nextInt(n);
+            targets[i] = rand.nextInt(n);
+        }
+        var graph = new ConcurrentGraph<String>(false);
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int from = t * m / threads;
+                int to = (t + 1) * m / threads;
+                futures.add(pool.submit(() -> {
+                    for (int i = from; i < to; i++) {
+                        var u = "v" + sources[i];
+                        var v = "v" + targets[i];
+                        graph.addVertexIfAbsent(u);
+                        graph.addVertexIfAbsent(v);
+                        graph.setNeighbor(u, v, sources[i] + targets[i]);
+                    }
+                }));
+            }
+            for (var f : futures) {
+                f.get();
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        assertEquals(m, graph.getEdgesCount());
+        var csr = graph.toCSR();
+        assertEquals(graph.getVerticesCount(), csr.getVerticesCount());
+        assertEquals(2 * m, csr.getEdgesCount());
+        var degrees = new int[n];
+        for (int i = 0; i < m; i++) {
+            degrees[sources[i]]++;
+            degrees[targets[i]]++;
+        }
+        for (int i = 0; i < csr.getVerticesCount(); i++) {
+            var name = csr.getVertex(i);
+            assertEquals(degrees[Integer.parseInt(name.substring(1))], csr.degree(i));
+            assertEquals(i, graph.indexOf(name));
+            for (int e = csr.begin(i); e < csr.end(i); e++) {
+                int other = Integer.parseInt(csr.getVertex(csr.target(e)).substring(1));
+                assertEquals(Integer.parseInt(name.substring(1)) + other, csr.weight(e));
+            }
+        }
+        var linked = graph.toLinkedGraph();
+        assertEquals(2 * m, linked.getAllEdges().size());
+        assertThrows(IllegalArgumentException.class, () -> graph.addNewVertex(csr.getVertex(0)));
+    }
+
+    @Test
+    void manyVerticesTest() throws Exception {
+        // 300k ids span 74 chunks, so the chunk table grows while threads register
+        int threads = 4;
+        int n = 300_000;
+        var graph = new ConcurrentGraph<Integer>(true);
+        var pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int from = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = from; i < n; i += threads) {
+                        graph.addVertexIfAbsent(i);
+                        graph.addVertexIfAbsent((i + 1) % n);
+                        graph.setNeighbor(i, (i + 1) % n);
+                    }
+                }));
+            }
+            for (var f : futures) {
+                f.get();
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+        assertEquals(n, graph.getVerticesCount());
+        var csr = graph.toCSR();
+        assertEquals(n, csr.getEdgesCount());
+        for (int i = 0; i < n; i++) {
+            int vertex = csr.getVertex(i);
+            assertEquals(i, graph.indexOf(vertex));
+            assertEquals(1, csr.degree(i));
+            assertEquals((vertex + 1) % n, csr.getVertex(csr.target(csr.begin(i))));
+        }
+    }
+}
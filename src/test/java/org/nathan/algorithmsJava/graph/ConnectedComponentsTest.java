@@ -0,0 +1,49 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.nathan.algorithmsJava.structures.IntDisjointSet;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectedComponentsTest {
+    @Test
+    void afforestTest() {
+        var rand = new Random();
+        for (int t = 0; t < 10; t++) {
+            int n = 2000;
+            int m = rand.nextInt(3000);
+            var sources = new int[m];
+            var targets = new int[m];
+            var expected = new IntDisjointSet(n);
+            for (int i = 0; i < m; i++) {
+                sources[i] = rand.nextInt(n);
+                targets[i] = rand.nextInt(n);
+                expected.union(sources[i], targets[i]);
+            }
+            var G = CSRGraph.fromEdges(n, sources, targets, null, false);
+            var labels = ConnectedComponents.afforest(G);
+            assertArrayEquals(expected.componentLabels(), labels);
+            assertEquals(expected.getSetsCount(), ConnectedComponents.count(labels));
+        }
+        assertEquals(0, ConnectedComponents.afforest(CSRGraph.fromEdges(0, new int[0], new int[0], null, false)).length);
+    }
+
+    @Test
+    void largeGraphTest() {
+        var rand = new Random();
+        int n = 1 << 20;
+        int m = 3 * n;
+        var sources = new int[m];
+        var targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = rand.nextInt(n);
+            targets[i] = rand.nextInt(n);
+        }
+        var G = CSRGraph.fromEdges(n, sources, targets, null, false);
+        var expected = new IntDisjointSet(n);
+        expected.unionAll(sources, targets);
+        assertArrayEquals(expected.componentLabels(), ConnectedComponents.afforest(G));
+    }
+}
@@ -229,4 +229,18 @@ class DFSTest {
         }
         return t;
     }
-}
\ No newline at end of file
+
+    @Test
+    void deepDFSTest() {
+        int n = 200_000;
+        var sources = new int[n - 1];
+        var targets = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            sources[i] = i;
+            targets[i] = i + 1;
+        }
+        var forest = DFS.depthFirstSearch(CSRGraph.fromEdges(n, sources, targets, null, true));
+        assertEquals(n - 2, forest.getParent(n - 1));
+        assertEquals(2 * n, forest.getFinish(0));
+    }
+}
@@ -0,0 +1,68 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.nathan.algorithmsJava.graph.LinkedGraph.Direction;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.nathan.algorithmsJava.graph.MinSpanTree.Kruskal;
+import static org.nathan.algorithmsJava.graph.MinSpanTree.KruskalVertex;
+
+class DynamicMinSpanTreeTest {
+
+    static double KruskalWeight(DynamicMinSpanTree tree) {
+        int n = tree.getVerticesCount();
+        var vertices = new ArrayList<KruskalVertex<Integer>>(n);
+        for (int i = 0; i < n; i++) {
+            vertices.add(new KruskalVertex<>(i));
+        }
+        var G = new LinkedGraph<>(vertices, Direction.NON_DIRECTED);
+        for (int e = 0; e < tree.getEdgesCount(); e++) {
+            G.setNeighbor(vertices.get(tree.getFormerVertex(e)), vertices.get(tree.getLaterVertex(e)), tree.getWeight(e));
+        }
+        double res = 0;
+        for (var edge : Kruskal(G)) {
+            res += edge.getWeight();
+        }
+        return res;
+    }
+
+    @Test
+    void insertTest() {
+        var rand = new Random();
+        for (int t = 0; t < 10; t++) {
+            int n = 30;
+            var tree = new DynamicMinSpanTree(n);
+            for (int i = 0; i < 120; i++) {
+                tree.insertEdge(rand.nextInt(n), rand.nextInt(n), rand.nextInt(100));
+                if (i % 10 == 0) {
+                    assertEquals(KruskalWeight(tree), tree.getTotalWeight());
+                }
+            }
+            assertEquals(KruskalWeight(tree), tree.getTotalWeight());
+            assertEquals(tree.getTreeEdges().length, tree.getTreeEdgesCount());
+        }
+    }
+
+    @Test
+    void decreaseWeightTest() {
+        var rand = new Random();
+        for (int t = 0; t < 10; t++) {
+            int n = 20;
+            var tree = new DynamicMinSpanTree(n);
+            for (int i = 0; i < 60; i++) {
+                tree.insertEdge(rand.nextInt(n), rand.nextInt(n), rand.nextInt(100));
+            }
+            for (int i = 0; i < 100; i++) {
+                int e = rand.nextInt(tree.getEdgesCount());
+                tree.decreaseWeight(e, tree.getWeight(e) - rand.nextInt(30));
+                assertEquals(KruskalWeight(tree), tree.getTotalWeight());
+            }
+            int e = rand.nextInt(tree.getEdgesCount());
+            assertThrows(IllegalArgumentException.class, () -> tree.decreaseWeight(e, tree.getWeight(e) + 1));
+        }
+    }
+}
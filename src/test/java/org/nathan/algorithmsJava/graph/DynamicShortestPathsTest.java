@@ -0,0 +1,124 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicShortestPathsTest {
+    static CSRGraph<Integer> rebuild(DynamicShortestPaths dynamic, int[] former, int[] later) {
+        int m = dynamic.getEdgesCount();
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        int k = 0;
+        for (int e = 0; e < m; e++) {
+            if (dynamic.getWeight(e) < Double.POSITIVE_INFINITY) {
+                sources[k] = former[e];
+                targets[k] = later[e];
+                weights[k] = dynamic.getWeight(e);
+                k++;
+            }
+        }
+        return CSRGraph.fromEdges(dynamic.getVerticesCount(), Arrays.copyOf(sources, k),
+                Arrays.copyOf(targets, k), Arrays.copyOf(weights, k), true);
+    }
+
+    @Test
+    void repairTest() {
+        var rand = new Random();
+        for (int t = 0; t < 20; t++) {
+            int n = 200;
+            int m = 800;
+            int ops = 300;
+            var former = new int[m + ops];
+            var later = new int[m + ops];
+            var sources = new int[m];
+            var targets = new int[m];
+            var weights = new double[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = rand.nextInt(n);
+                targets[i] = rand.nextInt(n);
+                weights[i] = rand.nextInt(20);
+            }
+            var G = CSRGraph.fromEdges(n, sources, targets, weights, true);
+            for (int u = 0; u < n; u++) {
+                for (int e = G.begin(u); e < G.end(u); e++) {
+                    former[e] = u;
+                    later[e] = G.target(e);
+                }
+            }
+            var dynamic = new DynamicShortestPaths(G, SSShortestPath.DijkstraDAryHeap(G, 0));
+            for (int op = 0; op < ops; op++) {
+                if (rand.nextInt(4) == 0) {
+                    int u = rand.nextInt(n);
+                    int v = rand.nextInt(n);
+                    int e = dynamic.insertEdge(u, v, rand.nextInt(20));
+                    former[e] = u;
+                    later[e] = v;
+                }
+                else {
+                    int e = rand.nextInt(dynamic.getEdgesCount());
+                    dynamic.updateWeight(e, rand.nextInt(10) == 0 ? Double.POSITIVE_INFINITY : rand.nextInt(20));
+                }
+                var expected = SSShortestPath.DijkstraDAryHeap(rebuild(dynamic, former, later), 0);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(expected.getDistance(v), dynamic.getDistance(v));
+                    int p = dynamic.getParent(v);
+                    if (p != -1) {
+                        assertTrue(dynamic.getDistance(p) <= dynamic.getDistance(v));
+                    }
+                }
+                var tree = dynamic.toTree();
+                for (int v = 0; v < n; v++) {
+                    if (tree.isReachable(v)) {
+                        assertEquals(0, tree.getPath(v)[0]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void localRepairTest() {
+        // a long chain 0 -> 1 -> ... -> 997 with a side branch 500 -> 998 -> 999 off its middle
+        int n = 1000;
+        int k = n / 2;
+        var sources = new int[n - 1];
+        var targets = new int[n - 1];
+        for (int i = 0; i < n - 3; i++) {
+            sources[i] = i;
+            targets[i] = i + 1;
+        }
+        sources[n - 3] = k;
+        targets[n - 3] = n - 2;
+        sources[n - 2] = n - 2;
+        targets[n - 2] = n - 1;
+        var G = CSRGraph.fromEdges(n, sources, targets, null, true);
+        int chain_end = G.begin(n - 4);
+        int branch = G.begin(k);
+        while (G.target(branch) != n - 2) {
+            branch++;
+        }
+        var dynamic = new DynamicShortestPaths(G, BFS.breathFirstSearch(G, 0));
+        dynamic.updateWeight(chain_end, 5);
+        assertEquals(1, dynamic.getLastRepairSize());
+        assertEquals(n + 1, dynamic.getDistance(n - 3));
+        assertEquals(k + 2, dynamic.getDistance(n - 1));
+        // only the branch is repaired, the chain past k keeps its distances
+        dynamic.updateWeight(branch, 5);
+        assertEquals(2, dynamic.getLastRepairSize());
+        assertEquals(k + 5, dynamic.getDistance(n - 2));
+        assertEquals(k + 6, dynamic.getDistance(n - 1));
+        assertEquals(k + 1, dynamic.getDistance(k + 1));
+        assertEquals(n + 1, dynamic.getDistance(n - 3));
+        dynamic.insertEdge(0, n - 1, 1);
+        assertEquals(1, dynamic.getLastRepairSize());
+        assertEquals(1, dynamic.getDistance(n - 1));
+        assertEquals(0, dynamic.getParent(n - 1));
+        assertEquals(k + 5, dynamic.getDistance(n - 2));
+        assertThrows(IllegalArgumentException.class, () -> dynamic.insertEdge(0, 1, -1));
+    }
+}
@@ -0,0 +1,64 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeListLoaderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void parseTest() throws IOException {
+        var file = dir.resolve("small.txt");
+        Files.writeString(file, "# comment\n0 1 2.5\n1\t2\r\n\n% other comment\n3,0,-1e-2\n  2 3 7\n4 4 0.125");
+        var graph = EdgeListLoader.loadCSR(file, true);
+        assertEquals(5, graph.getVerticesCount());
+        assertEquals(5, graph.getEdgesCount());
+        assertEquals(1, graph.target(graph.begin(0)));
+        assertEquals(2.5, graph.weight(graph.begin(0)));
+        assertEquals(1, graph.weight(graph.begin(1)));
+        assertEquals(-0.01, graph.weight(graph.begin(3)));
+        assertEquals(0.125, graph.weight(graph.begin(4)));
+
+        Files.writeString(dir.resolve("bad.txt"), "0 1\n1 x\n");
+        assertThrows(IllegalArgumentException.class, () -> EdgeListLoader.loadCSR(dir.resolve("bad.txt"), true));
+    }
+
+    @Test
+    void parallelChunksTest() throws IOException {
+        var rand = new Random();
+        int n = 500;
+        int m = 20_000;
+        var builder = new StringBuilder();
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = rand.nextInt(n);
+            targets[i] = rand.nextInt(n);
+            weights[i] = rand.nextInt(100000) / 100.0;
+            builder.append(sources[i]).append(' ').append(targets[i]).append(' ').append(weights[i]).append('\n');
+        }
+        var file = dir.resolve("large.txt");
+        Files.writeString(file, builder);
+        for (int parallelism : new int[]{1, 3, 16}) {
+            var edges = EdgeListLoader.parse(file, parallelism);
+            assertEquals(m, edges.edges_count);
+            assertArrayEquals(sources, Arrays.copyOf(edges.sources, m));
+            assertArrayEquals(targets, Arrays.copyOf(edges.targets, m));
+            assertArrayEquals(weights, Arrays.copyOf(edges.weights, m));
+        }
+        var graph = EdgeListLoader.loadLinkedGraph(file, false, BFS.BFSVertex::new);
+        var csr = EdgeListLoader.loadCSR(file, false);
+        assertEquals(csr.getVerticesCount(), graph.getVerticesCount());
+        assertEquals(csr.getEdgesCount(), graph.getAllEdges().size());
+    }
+}
@@ -0,0 +1,63 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphFileTest {
+    @TempDir
+    Path dir;
+
+    static void assertSameGraph(IndexedGraph expected, IndexedGraph actual) {
+        assertEquals(expected.getVerticesCount(), actual.getVerticesCount());
+        assertEquals(expected.getEdgesCount(), actual.getEdgesCount());
+        for (int u = 0; u < expected.getVerticesCount(); u++) {
+            assertEquals(expected.begin(u), actual.begin(u));
+            assertEquals(expected.end(u), actual.end(u));
+        }
+        for (int e = 0; e < expected.getEdgesCount(); e++) {
+            assertEquals(expected.target(e), actual.target(e));
+            assertEquals(expected.weight(e), actual.weight(e));
+        }
+    }
+
+    @Test
+    void roundTripTest() {
+        var example = new MinSpanTreeTest().buildPrimExample();
+        var csr = CSRGraph.fromLinkedGraph(example.graph);
+        var file = dir.resolve("prim.graph");
+        GraphFile.write(csr, file, MinSpanTree.PrimVertex::getContent);
+        var mapped = GraphFile.open(file);
+        assertSameGraph(csr, mapped);
+        assertTrue(mapped.hasKeys());
+        for (int i = 0; i < csr.getVerticesCount(); i++) {
+            assertEquals(csr.getVertex(i).getContent(), mapped.getKey(i));
+            assertEquals(i, mapped.indexOf(mapped.getKey(i)));
+        }
+        int r = mapped.indexOf("a");
+        assertArrayEquals(MinSpanTree.PrimDAryHeap(csr, r), MinSpanTree.PrimDAryHeap(mapped, r));
+    }
+
+    @Test
+    void unweightedTest() {
+        var csr = CSRGraph.fromEdges(4, new int[]{0, 1, 2}, new int[]{1, 2, 3}, null, true);
+        var file = dir.resolve("path.graph");
+        GraphFile.write(csr, file);
+        var mapped = GraphFile.open(file);
+        assertSameGraph(csr, mapped);
+        assertFalse(mapped.hasKeys());
+        assertEquals("3", mapped.getKey(3));
+    }
+
+    @Test
+    void corruptedTest() throws IOException {
+        var file = dir.resolve("bad.graph");
+        Files.write(file, new byte[100]);
+        assertThrows(IllegalArgumentException.class, () -> GraphFile.open(file));
+    }
+}
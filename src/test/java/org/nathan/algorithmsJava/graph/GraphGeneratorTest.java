@@ -0,0 +1,112 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphGeneratorTest {
+    @Test
+    void rmatTest() {
+        var edges = GraphGenerator.rmat(16, 1 << 20, 50);
+        assertEquals(1 << 16, edges.getVerticesCount());
+        assertEquals(1 << 20, edges.getEdgesCount());
+        assertNull(edges.getWeights());
+        var again = GraphGenerator.rmat(16, 1 << 20, 50);
+        assertArrayEquals(edges.getSources(), again.getSources());
+        assertArrayEquals(edges.getTargets(), again.getTargets());
+        var other = GraphGenerator.rmat(16, 1 << 20, 51);
+        assertFalse(Arrays.equals(edges.getSources(), other.getSources()));
+        var G = edges.toCSR(true);
+        int max_degree = 0;
+        for (int u = 0; u < G.getVerticesCount(); u++) {
+            max_degree = Math.max(max_degree, G.degree(u));
+        }
+        // average out degree is 16, r-mat degrees are heavy tailed
+        assertTrue(max_degree > 50 * 16);
+        // scrambled, the biggest vertex is not vertex 0
+        assertTrue(G.degree(0) < max_degree);
+    }
+
+    @Test
+    void gridTest() {
+        var edges = GraphGenerator.grid(40, 30, 1, 5, 9);
+        assertEquals(1200, edges.getVerticesCount());
+        assertEquals(40 * 29 + 39 * 30, edges.getEdgesCount());
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < edges.getEdgesCount(); i++) {
+            int u = edges.getSources()[i];
+            int v = edges.getTargets()[i];
+            assertTrue(v == u + 1 && u % 30 != 29 || v == u + 30);
+            assertTrue(edges.getWeights()[i] >= 1 && edges.getWeights()[i] < 5);
+            assertTrue(pairs.add((long) u << 32 | v));
+        }
+        var G = edges.toCSR(false);
+        assertEquals(1, ConnectedComponents.count(ConnectedComponents.afforest(G)));
+        assertEquals(0, GraphGenerator.grid(0, 5, 0, 1, 1).getEdgesCount());
+        assertEquals(4, GraphGenerator.grid(1, 5, 0, 1, 1).getEdgesCount());
+    }
+
+    @Test
+    void erdosRenyiTest() {
+        int n = 20000;
+        double p = 5e-4;
+        var edges = GraphGenerator.erdosRenyi(n, p, false, 3);
+        double expected = p * n * (n - 1.0) / 2;
+        assertEquals(expected, edges.getEdgesCount(), 5 * Math.sqrt(expected));
+        Set<Long> pairs = new HashSet<>();
+        for (int i = 0; i < edges.getEdgesCount(); i++) {
+            int u = edges.getSources()[i];
+            int v = edges.getTargets()[i];
+            assertTrue(u < v && v < n);
+            assertTrue(pairs.add((long) u << 32 | v));
+        }
+        var directed = GraphGenerator.erdosRenyi(n, p, true, 3);
+        assertEquals(2 * expected, directed.getEdgesCount(), 10 * Math.sqrt(expected));
+        for (int i = 0; i < directed.getEdgesCount(); i++) {
+            assertNotEquals(directed.getSources()[i], directed.getTargets()[i]);
+        }
+        assertEquals(10 * 9, GraphGenerator.erdosRenyi(10, 1, true, 1).getEdgesCount());
+        assertEquals(10 * 9 / 2, GraphGenerator.erdosRenyi(10, 1, false, 1).getEdgesCount());
+        assertEquals(0, GraphGenerator.erdosRenyi(10, 0, false, 1).getEdgesCount());
+    }
+
+    @Test
+    void randomGeometricTest() {
+        int n = 3000;
+        double radius = 0.03;
+        var edges = GraphGenerator.randomGeometric(n, radius, 11);
+        var again = GraphGenerator.randomGeometric(n, radius, 11);
+        assertArrayEquals(edges.getTargets(), again.getTargets());
+        // compare with all pairs, distances come from the same points
+        var points = GraphGenerator.randomGeometric(n, 2, 11);
+        assertEquals(n * (n - 1L) / 2, points.getEdgesCount());
+        int count = 0;
+        for (int i = 0; i < points.getEdgesCount(); i++) {
+            if (points.getWeights()[i] < radius) {
+                count++;
+            }
+        }
+        assertEquals(count, edges.getEdgesCount());
+        for (int i = 0; i < edges.getEdgesCount(); i++) {
+            assertTrue(edges.getSources()[i] < edges.getTargets()[i]);
+            assertTrue(edges.getWeights()[i] < radius);
+        }
+    }
+
+    @Test
+    void weightsTest() {
+        var edges = GraphGenerator.rmat(10, 5000, 2).withUniformWeights(2, 3, 4);
+        for (var w : edges.getWeights()) {
+            assertTrue(w >= 2 && w < 3);
+        }
+        var G = edges.toCSR(true);
+        assertEquals(5000, G.getEdgesCount());
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.rmat(31, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.rmat(4, 1, 0.5, 0.5, 0.5, 1));
+        assertThrows(IllegalArgumentException.class, () -> GraphGenerator.grid(2, 2, 3, 1, 1));
+    }
+}
@@ -0,0 +1,93 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphPartitionTest {
+    static CSRGraph<Integer> randomGraph(int n, int m, boolean directed, boolean negative) {
+        var rand = new Random();
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            sources[i] = rand.nextInt(n);
+            targets[i] = rand.nextInt(n);
+            weights[i] = negative ? rand.nextInt(10) - 1 : rand.nextInt(10);
+        }
+        return CSRGraph.fromEdges(n, sources, targets, weights, directed);
+    }
+
+    @Test
+    void partitionTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        int k = 4;
+        var P = GraphPartition.labelPropagation(G, k);
+        int n = G.getVerticesCount();
+        assertEquals(k, P.getPartsCount());
+        assertTrue(P.getBalance() <= 1.03 + 1e-9);
+        int total = 0;
+        long cut = 0;
+        for (int p = 0; p < k; p++) {
+            var part = P.getPart(p);
+            total += part.getVertices().length;
+            assertEquals(P.getPartSize(p), part.getVertices().length);
+            var boundary = new HashSet<Integer>();
+            var ghosts = new HashSet<Integer>();
+            for (var u : part.getVertices()) {
+                assertTrue(part.owns(u));
+                for (int e = G.begin(u); e < G.end(u); e++) {
+                    if (P.owner(G.target(e)) != p) {
+                        cut++;
+                        boundary.add(u);
+                        ghosts.add(G.target(e));
+                    }
+                }
+            }
+            for (var u : part.getBoundary()) {
+                assertTrue(boundary.remove(u));
+            }
+            assertTrue(boundary.isEmpty());
+            for (var v : part.getGhosts()) {
+                assertFalse(part.owns(v));
+                assertTrue(ghosts.remove(v));
+            }
+            assertTrue(ghosts.isEmpty());
+        }
+        assertEquals(n, total);
+        assertEquals(cut, P.getCutSize());
+        // a 20 x 20 grid splits into 4 blocks with a few dozen cut edges, random cut is ~ 3/4 of 1520 arcs
+        assertTrue(P.getCutSize() < 400, "cut " + P.getCutSize());
+
+        var single = GraphPartition.labelPropagation(G, 1);
+        assertEquals(0, single.getCutSize());
+        assertEquals(1, single.getBalance());
+        assertThrows(IllegalArgumentException.class, () -> GraphPartition.labelPropagation(G, 0));
+    }
+
+    @Test
+    void parallelSearchTest() {
+        for (int t = 0; t < 5; t++) {
+            var G = randomGraph(500, 3000, t % 2 == 0, false);
+            var P = GraphPartition.labelPropagation(G, 1 + t);
+            var bfs = BFS.breathFirstSearch(G, 0);
+            var parallel_bfs = BFS.parallelBreathFirstSearch(P, 0);
+            var dijkstra = SSShortestPath.DijkstraDAryHeap(G, 0);
+            var bellman_ford = SSShortestPath.parallelBellmanFord(P, 0).orElseThrow();
+            for (int v = 0; v < G.getVerticesCount(); v++) {
+                assertEquals(bfs.getDistance(v), parallel_bfs.getDistance(v));
+                assertEquals(dijkstra.getDistance(v), bellman_ford.getDistance(v), 1e-9);
+                if (v != 0 && bellman_ford.isReachable(v)) {
+                    int u = bellman_ford.getParent(v);
+                    assertEquals(parallel_bfs.getDistance(parallel_bfs.getParent(v)) + 1, parallel_bfs.getDistance(v));
+                    assertTrue(bellman_ford.getDistance(u) <= bellman_ford.getDistance(v));
+                }
+            }
+        }
+        var cycle = CSRGraph.fromEdges(3, new int[]{0, 1, 2}, new int[]{1, 2, 0}, new double[]{1, -3, 1}, true);
+        assertTrue(SSShortestPath.parallelBellmanFord(GraphPartition.labelPropagation(cycle, 2), 0).isEmpty());
+    }
+}
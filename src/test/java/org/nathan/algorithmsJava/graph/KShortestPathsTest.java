@@ -0,0 +1,84 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KShortestPathsTest {
+    @Test
+    void YenTest() {
+        var rand = new Random();
+        for (int t = 0; t < 100; t++) {
+            int n = 2 + rand.nextInt(8);
+            int m = rand.nextInt(n * 3);
+            var sources = new int[m];
+            var targets = new int[m];
+            var weights = new double[m];
+            for (int i = 0; i < m; i++) {
+                sources[i] = rand.nextInt(n);
+                targets[i] = rand.nextInt(n);
+                weights[i] = rand.nextInt(10);
+            }
+            var G = CSRGraph.fromEdges(n, sources, targets, weights, t % 2 == 0);
+            int k = 1 + rand.nextInt(10);
+            var paths = KShortestPaths.Yen(G, 0, n - 1, k);
+            var expected = allSimplePathLengths(G, 0, n - 1);
+            assertEquals(Math.min(k, expected.size()), paths.size());
+            var distinct = new HashSet<List<Integer>>();
+            for (int i = 0; i < paths.size(); i++) {
+                var path = paths.get(i);
+                assertEquals(0, path[0]);
+                assertEquals(n - 1, path[path.length - 1]);
+                var visited = new HashSet<Integer>();
+                var boxed = new ArrayList<Integer>();
+                for (var v : path) {
+                    assertTrue(visited.add(v));
+                    boxed.add(v);
+                }
+                assertTrue(distinct.add(boxed));
+                assertEquals(expected.get(i), KShortestPaths.pathLength(G, path), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void gridTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        var dijkstra = SSShortestPath.DijkstraDAryHeap(G, 0);
+        var paths = KShortestPaths.Yen(G, 0, 399, 50);
+        assertEquals(50, paths.size());
+        assertEquals(dijkstra.getDistance(399), KShortestPaths.pathLength(G, paths.get(0)));
+        for (int i = 1; i < paths.size(); i++) {
+            assertTrue(KShortestPaths.pathLength(G, paths.get(i - 1)) <= KShortestPaths.pathLength(G, paths.get(i)));
+        }
+        assertEquals(1, KShortestPaths.Yen(G, 0, 0, 3).size());
+    }
+
+    static List<Double> allSimplePathLengths(IndexedGraph G, int s, int t) {
+        List<Double> res = new ArrayList<>();
+        walk(G, s, t, new boolean[G.getVerticesCount()], 0, res);
+        res.sort(Double::compare);
+        return res;
+    }
+
+    static void walk(IndexedGraph G, int u, int t, boolean[] visited, double length, List<Double> res) {
+        if (u == t) {
+            res.add(length);
+            return;
+        }
+        visited[u] = true;
+        var done = new HashSet<Integer>();
+        for (int e = G.begin(u); e < G.end(u); e++) {
+            int v = G.target(e);
+            if (!visited[v] && done.add(v)) {
+                walk(G, v, t, visited, length + KShortestPaths.pathLength(G, new int[]{u, v}), res);
+            }
+        }
+        visited[u] = false;
+    }
+}
@@ -0,0 +1,96 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkedGraphTest {
+    static LinkedGraph<Integer> randomGraph(LinkedGraph.Direction direction) {
+        var rand = new Random();
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            vertices.add(i);
+        }
+        var graph = new LinkedGraph<>(vertices, direction);
+        for (int i = 0; i < 3000; i++) {
+            graph.setNeighbor(rand.nextInt(300), rand.nextInt(300), rand.nextDouble());
+        }
+        graph.setNeighbor(7, 7);
+        return graph;
+    }
+
+    static Map<LinkedGraph.Edge<Integer>, Integer> count(Iterable<LinkedGraph.Edge<Integer>> edges) {
+        Map<LinkedGraph.Edge<Integer>, Integer> res = new IdentityHashMap<>();
+        for (var edge : edges) {
+            res.merge(edge, 1, Integer::sum);
+        }
+        return res;
+    }
+
+    @Test
+    void streamEdgesTest() {
+        var graph = randomGraph(LinkedGraph.Direction.NON_DIRECTED);
+        var all = graph.getAllEdges();
+        assertEquals(all, graph.streamEdges(false, false).collect(Collectors.toList()));
+
+        var distinct = count(graph.iterateEdges(true));
+        assertEquals(3001, distinct.size());
+        assertTrue(distinct.values().stream().allMatch(c -> c == 1));
+        assertEquals(count(all).keySet(), distinct.keySet());
+
+        var parallel = graph.streamEdges(true, true).collect(Collectors.toList());
+        assertEquals(3001, parallel.size());
+        assertEquals(distinct.keySet(), count(parallel).keySet());
+        assertEquals(all.size(), graph.streamEdges(false, true).count());
+
+        var directed = randomGraph(LinkedGraph.Direction.DIRECTED);
+        assertEquals(directed.getAllEdges(), directed.streamEdges(true, true).collect(Collectors.toList()));
+    }
+
+    @Test
+    void splitTest() {
+        var small = randomGraph(LinkedGraph.Direction.NON_DIRECTED);
+        var spliterator = small.edgesSpliterator(false);
+        assertEquals(small.getAllEdges().size(), spliterator.estimateSize());
+        assertEquals(3001, small.edgesSpliterator(true).estimateSize());
+        assertNull(spliterator.trySplit()); // 300 vertices are one batch
+
+        int n = 40_000;
+        var rand = new Random(37);
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            vertices.add(i);
+        }
+        var graph = new LinkedGraph<>(vertices, LinkedGraph.Direction.NON_DIRECTED);
+        for (int i = 0; i < 4 * n; i++) {
+            graph.setNeighbor(rand.nextInt(n), rand.nextInt(n));
+        }
+        var suffix = graph.edgesSpliterator(true);
+        var prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(4 * n, prefix.estimateSize() + suffix.estimateSize());
+        var parts = new ArrayList<>(List.of(prefix, suffix));
+        for (int i = 0; i < parts.size(); ) {
+            var part = parts.get(i).trySplit();
+            if (part != null) {
+                parts.add(part);
+            }
+            else {
+                i++;
+            }
+        }
+        // 40000 vertices split down to batches of at least 4096
+        assertTrue(parts.size() >= 4 && parts.size() <= 16);
+        var expected = count(graph.iterateEdges(true));
+        var parallel = graph.streamEdges(true, true).collect(Collectors.toList());
+        assertEquals(4 * n, parallel.size());
+        assertEquals(expected.keySet(), count(parallel).keySet());
+    }
+}
@@ -23,6 +23,19 @@ class MinSpanTreeTest {
         assertEquals(37, i);
     }
 
+    @Test
+    public void KruskalCSRTest() {
+        var G = buildKruskalExample();
+        var csr = CSRGraph.fromLinkedGraph(G);
+        var t = Kruskal(csr);
+        assertEquals(csr.getVerticesCount() - 1, t.length);
+        int i = 0;
+        for (var e : t) {
+            i += csr.weight(e);
+        }
+        assertEquals(37, i);
+    }
+
     LinkedGraph<KruskalVertex<String>> buildKruskalExample() {
         String n = "a,b,c,d,e,f,g,h,i";
         String[] names = n.split(",");
@@ -82,6 +95,23 @@ class MinSpanTreeTest {
         assertTrue(res.equals(buildPrimAnswer1()) || res.equals(buildPrimAnswer2()));
     }
 
+    @Test
+    public void PrimDAryHeapTest() {
+        var t = buildPrimExample();
+        var csr = CSRGraph.fromLinkedGraph(t.graph);
+        var parent = PrimDAryHeap(csr, csr.indexOf(t.target));
+        Set<Set<String>> res = new HashSet<>();
+        for (int i = 0; i < parent.length; i++) {
+            if (parent[i] != -1) {
+                Set<String> s = new HashSet<>();
+                s.add(csr.getVertex(i).getContent());
+                s.add(csr.getVertex(parent[i]).getContent());
+                res.add(s);
+            }
+        }
+        assertTrue(res.equals(buildPrimAnswer1()) || res.equals(buildPrimAnswer2()));
+    }
+
     GraphAndTarget buildPrimExample() {
         String n = "a,b,c,d,e,f,g,h,i";
         String[] names = n.split(",");
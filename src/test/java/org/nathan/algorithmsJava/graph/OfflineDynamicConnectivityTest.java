@@ -0,0 +1,52 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.nathan.algorithmsJava.structures.IntDisjointSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class OfflineDynamicConnectivityTest {
+    @Test
+    void randomTest() {
+        var rand = new Random();
+        for (int t = 0; t < 20; t++) {
+            int n = 12;
+            var solver = new OfflineDynamicConnectivity(n);
+            List<int[]> edges = new ArrayList<>();
+            List<Boolean> expected = new ArrayList<>();
+            for (int op = 0; op < 300; op++) {
+                int kind = rand.nextInt(3);
+                if (kind == 0) {
+                    int u = rand.nextInt(n);
+                    int v = rand.nextInt(n);
+                    solver.addEdge(u, v);
+                    edges.add(new int[]{u, v});
+                }
+                else if (kind == 1 && !edges.isEmpty()) {
+                    var e = edges.remove(rand.nextInt(edges.size()));
+                    solver.removeEdge(e[1], e[0]);
+                }
+                else {
+                    int u = rand.nextInt(n);
+                    int v = rand.nextInt(n);
+                    solver.query(u, v);
+                    var set = new IntDisjointSet(n);
+                    for (var e : edges) {
+                        set.union(e[0], e[1]);
+                    }
+                    expected.add(set.sameSet(u, v));
+                }
+            }
+            var answers = new boolean[expected.size()];
+            for (int i = 0; i < answers.length; i++) {
+                answers[i] = expected.get(i);
+            }
+            assertArrayEquals(answers, solver.solve());
+            assertArrayEquals(answers, solver.solve());
+        }
+    }
+}
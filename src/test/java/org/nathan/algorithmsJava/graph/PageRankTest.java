@@ -0,0 +1,110 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageRankTest {
+    // directed random graph, about a tenth of the vertices are dangling
+    static CSRGraph<Integer> randomGraph(int n, int m, long seed) {
+        var random = new Random(seed);
+        var sources = new int[m];
+        var targets = new int[m];
+        for (int i = 0; i < m; i++) {
+            do {
+                sources[i] = random.nextInt(n);
+            } while (sources[i] % 10 == 0);
+            targets[i] = random.nextInt(n);
+        }
+        return CSRGraph.fromEdges(n, sources, targets, null, true);
+    }
+
+    // sequential push mode iteration, dangling rank goes to teleport
+    static double[] reference(IndexedGraph G, double damping, double[] teleport, int iterations) {
+        int n = G.getVerticesCount();
+        var rank = teleport.clone();
+        for (int it = 0; it < iterations; it++) {
+            var next = new double[n];
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                if (G.degree(u) == 0) {
+                    dangling += rank[u];
+                }
+                for (int e = G.begin(u); e < G.end(u); e++) {
+                    next[G.target(e)] += damping * rank[u] / G.degree(u);
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                next[v] += ((1 - damping) + damping * dangling) * teleport[v];
+            }
+            rank = next;
+        }
+        return rank;
+    }
+
+    @Test
+    void cycleTest() {
+        var G = CSRGraph.fromEdges(3, new int[]{0, 1, 2}, new int[]{1, 2, 0}, null, true);
+        var rank = PageRank.powerIteration(G);
+        for (var r : rank) {
+            assertEquals(1.0 / 3, r, 1e-12);
+        }
+        assertEquals(0, PageRank.powerIteration(CSRGraph.fromEdges(0, new int[0], new int[0], null, true)).length);
+    }
+
+    @Test
+    void randomGraphTest() {
+        var G = randomGraph(20000, 100000, 49);
+        int n = G.getVerticesCount();
+        var rank = PageRank.powerIteration(G, 0.85, 1e-12, 200);
+        var uniform = new double[n];
+        Arrays.fill(uniform, 1.0 / n);
+        var expected = reference(G, 0.85, uniform, 200);
+        double sum = 0;
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected[v], rank[v], 1e-12);
+            sum += rank[v];
+        }
+        assertEquals(1, sum, 1e-9);
+        var top = PageRank.top(rank, 10);
+        for (int i = 0; i + 1 < top.length; i++) {
+            assertTrue(rank[top[i]] >= rank[top[i + 1]]);
+        }
+        for (var r : rank) {
+            assertTrue(r <= rank[top[0]]);
+        }
+    }
+
+    @Test
+    void linkedGraphTest() {
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            vertices.add(i * 10);
+        }
+        var graph = new LinkedGraph<>(vertices, LinkedGraph.Direction.DIRECTED);
+        int[][] arcs = {{0, 1}, {1, 2}, {2, 0}, {3, 2}, {4, 2}, {5, 4}};
+        for (var arc : arcs) {
+            graph.setNeighbor(vertices.get(arc[0]), vertices.get(arc[1]));
+        }
+        var rank = PageRank.powerIteration(graph, 0.85, 1e-12, 100);
+        var csr = CSRGraph.fromLinkedGraph(graph);
+        assertArrayEquals(PageRank.powerIteration(csr, 0.85, 1e-12, 100), rank);
+        assertEquals(csr.indexOf(20), PageRank.top(rank, 1)[0]);
+    }
+
+    @Test
+    void argumentsTest() {
+        var G = randomGraph(100, 300, 1);
+        assertThrows(IllegalArgumentException.class, () -> PageRank.powerIteration(G, 1, 1e-9, 10));
+        assertThrows(IllegalArgumentException.class, () -> PageRank.powerIteration(G, 0.85, -1, 10));
+        var token = CancellationToken.create();
+        token.cancel();
+        assertThrows(CancellationException.class, () -> PageRank.powerIteration(G, 0.85, 1e-9, 10, token));
+    }
+}
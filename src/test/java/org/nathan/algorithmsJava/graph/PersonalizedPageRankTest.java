@@ -0,0 +1,64 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersonalizedPageRankTest {
+    @Test
+    void accuracyTest() {
+        var G = PageRankTest.randomGraph(2000, 10000, 7);
+        int n = G.getVerticesCount();
+        double epsilon = 1e-7;
+        var engine = new PersonalizedPageRank(G, 0.85, epsilon);
+        for (var s : new int[]{1, 0, 1234}) {
+            engine.query(s);
+            assertEquals(s, engine.getSource());
+            var teleport = new double[n];
+            teleport[s] = 1;
+            var expected = PageRankTest.reference(G, 0.85, teleport, 300);
+            double mass = 0;
+            double max_error = 0;
+            for (int v = 0; v < n; v++) {
+                assertTrue(engine.getEstimate(v) <= expected[v] + 1e-12);
+                assertTrue(engine.getResidual(v) < epsilon * Math.max(G.degree(v), 1));
+                max_error = Math.max(max_error, expected[v] - engine.getEstimate(v));
+                mass += engine.getEstimate(v) + engine.getResidual(v);
+            }
+            assertEquals(1, mass, 1e-9);
+            assertTrue(max_error < 1e-4);
+            assertTrue(engine.getPushCount() <= 1 / (0.15 * epsilon));
+            assertEquals(s, engine.top(1)[0]);
+        }
+    }
+
+    @Test
+    void localityTest() {
+        var G = PageRankTest.randomGraph(1 << 18, 1 << 20, 3);
+        var engine = new PersonalizedPageRank(G, 0.85, 1e-3);
+        engine.query(5);
+        // every push drops at least (1 - damping) * epsilon * degree of mass, which bounds the arcs scanned
+        assertTrue(engine.getPushCount() <= 1 / (0.15 * 1e-3));
+        assertTrue(engine.getTouched().length <= 1 / (0.15 * 1e-3) + 1);
+        var top = engine.top(5);
+        assertEquals(5, top[0]);
+        for (int i = 0; i + 1 < top.length; i++) {
+            assertTrue(engine.getEstimate(top[i]) >= engine.getEstimate(top[i + 1]));
+        }
+    }
+
+    @Test
+    void danglingTest() {
+        var G = CSRGraph.fromEdges(3, new int[]{0, 0}, new int[]{1, 2}, null, true);
+        var engine = new PersonalizedPageRank(G, 0.5, 1e-12);
+        engine.query(0);
+        // p(0) = 0.5 + 0.5 * (p(1) + p(2)), p(1) = p(2) = p(0) / 4
+        assertEquals(2.0 / 3, engine.getEstimate(0), 1e-9);
+        assertEquals(1.0 / 6, engine.getEstimate(1), 1e-9);
+        assertEquals(1.0 / 6, engine.getEstimate(2), 1e-9);
+        engine.query(1);
+        assertEquals(1, engine.getEstimate(1), 1e-9);
+        assertEquals(0, engine.getEstimate(0));
+        assertArrayEquals(new int[]{1}, engine.getTouched());
+    }
+}
@@ -161,6 +161,24 @@ class SSShortestPathTest {
         assertEquals(7, vertices.get(4).getDistance());
     }
 
+    @Test
+    void DijkstraDAryHeapTest() {
+        var g = buildDijkstraCase();
+        var csr = CSRGraph.fromLinkedGraph(g);
+        var tree = SSShortestPath.DijkstraDAryHeap(csr, csr.indexOf(targetDijkstraCase));
+        // vertices keep the order s,t,x,y,z
+        assertEquals(-1, tree.getParent(0));
+        assertEquals(3, tree.getParent(1));
+        assertEquals(8, tree.getDistance(1));
+        assertEquals(1, tree.getParent(2));
+        assertEquals(9, tree.getDistance(2));
+        assertEquals(0, tree.getParent(3));
+        assertEquals(5, tree.getDistance(3));
+        assertEquals(3, tree.getParent(4));
+        assertEquals(7, tree.getDistance(4));
+        assertArrayEquals(new int[]{0, 3, 1, 2}, tree.getPath(2));
+    }
+
     static class Result {
         public LinkedGraph<BFSVertex<String>> BFS_G;
         public LinkedGraph<DFSVertex<BFSVertex<String>>> DFS_G;
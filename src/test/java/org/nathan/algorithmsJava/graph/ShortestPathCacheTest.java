@@ -0,0 +1,62 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathCacheTest {
+    @Test
+    void cacheTest() {
+        var rand = new Random();
+        List<Integer> vertices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            vertices.add(i);
+        }
+        var G = new LinkedGraph<>(vertices, LinkedGraph.Direction.DIRECTED);
+        for (int i = 0; i < 500; i++) {
+            G.setNeighbor(rand.nextInt(100), rand.nextInt(100), rand.nextInt(10));
+        }
+        var cache = new ShortestPathCache<>(G, 3);
+        var D = ShortestPathCache.Algorithm.DIJKSTRA;
+        var tree = cache.get(0, D);
+        assertSame(tree, cache.get(0, D));
+        assertNotSame(tree, cache.get(0, ShortestPathCache.Algorithm.BFS));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        var expected = SSShortestPath.DijkstraDAryHeap(CSRGraph.fromLinkedGraph(G), 0);
+        for (int v = 0; v < 100; v++) {
+            assertEquals(expected.getDistance(v), cache.getDistance(0, v, D));
+        }
+
+        cache.get(1, D);
+        cache.get(0, D); // 0 becomes most recent, BFS tree of 0 is eldest
+        cache.get(2, D);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertSame(tree, cache.get(0, D));
+
+        G.setNeighbor(0, 99, 0);
+        assertEquals(0, cache.getDistance(0, 99, D));
+        assertEquals(List.of(0, 99), cache.getPath(0, 99, D));
+        assertEquals(3, cache.getInvalidations());
+        assertEquals(1, cache.size());
+        G.addNewVertex(100);
+        assertEquals(Double.POSITIVE_INFINITY, cache.getDistance(0, 100, D));
+        assertEquals(List.of(), cache.getPath(0, 100, D));
+        assertEquals(4, cache.getInvalidations());
+        assertThrows(NoSuchElementException.class, () -> cache.get(1000, D));
+
+        var small = new ShortestPathCache<>(G, 100, 3 * (101 * 12 + 64));
+        for (int s = 0; s < 10; s++) {
+            small.get(s, D);
+        }
+        assertEquals(3, small.size());
+        assertEquals(7, small.getStats().get("evictions"));
+        assertTrue(small.getBytes() <= 3 * (101 * 12 + 64));
+    }
+}
@@ -0,0 +1,184 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+import org.nathan.algorithmsJava.graph.GraphVisitor.Control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraversalTest {
+    static final class Recorder implements GraphVisitor {
+        final List<Integer> discovered = new ArrayList<>();
+        final List<Integer> finished = new ArrayList<>();
+        int examined = 0;
+
+        @Override
+        public Control discoverVertex(int v, int depth) {
+            discovered.add(v);
+            return Control.CONTINUE;
+        }
+
+        @Override
+        public Control examineEdge(int u, int v, double weight) {
+            examined++;
+            return Control.CONTINUE;
+        }
+
+        @Override
+        public Control finishVertex(int u) {
+            finished.add(u);
+            return Control.CONTINUE;
+        }
+    }
+
+    @Test
+    void fullTraversalTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        var bfs = new Recorder();
+        assertFalse(Traversal.BFS(G, 0, bfs));
+        assertEquals(400, bfs.discovered.size());
+        assertEquals(bfs.discovered, bfs.finished);
+        assertEquals(G.getEdgesCount(), bfs.examined);
+        var tree = BFS.breathFirstSearch(G, 0);
+        for (int i = 1; i < 400; i++) {
+            assertTrue(tree.getDistance(bfs.discovered.get(i - 1)) <= tree.getDistance(bfs.discovered.get(i)));
+        }
+
+        var dfs = new Recorder();
+        assertFalse(Traversal.DFS(G, 0, dfs));
+        assertEquals(400, dfs.finished.size());
+        assertEquals(G.getEdgesCount(), dfs.examined);
+        var forest = DFS.depthFirstSearch(G);
+        var expected = new ArrayList<Integer>();
+        for (int v = 0; v < 400; v++) {
+            expected.add(v);
+        }
+        expected.sort((a, b) -> forest.getDiscover(a) - forest.getDiscover(b));
+        assertEquals(expected, dfs.discovered);
+    }
+
+    @Test
+    void earlyTerminationTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        var tree = BFS.breathFirstSearch(G, 0);
+        int target = G.getVerticesCount() - 1;
+        int found = Traversal.findFirst(G, 0, v -> tree.getDistance(v) == 3);
+        assertEquals(3, tree.getDistance(found));
+        assertEquals(-1, Traversal.findFirst(G, 0, v -> v < 0));
+
+        var hood = Traversal.kHopNeighborhood(G, 0, 2);
+        int expected = 0;
+        for (int v = 0; v <= target; v++) {
+            if (tree.getDistance(v) <= 2) {
+                expected++;
+            }
+        }
+        assertEquals(expected, hood.length);
+        assertEquals(0, hood[0]);
+        assertArrayEquals(new int[]{0}, Traversal.kHopNeighborhood(G, 0, 0));
+
+        var counter = new GraphVisitor() {
+            int count = 0;
+
+            @Override
+            public Control discoverVertex(int v, int depth) {
+                return ++count == 10 ? Control.STOP : Control.CONTINUE;
+            }
+        };
+        assertTrue(Traversal.DFS(G, 0, counter));
+        assertEquals(10, counter.count);
+
+        var no_edges = new GraphVisitor() {
+            @Override
+            public Control examineEdge(int u, int v, double weight) {
+                return Control.SKIP;
+            }
+        };
+        var recorder = new Recorder();
+        Traversal.BFS(G, 0, new GraphVisitor() {
+            @Override
+            public Control discoverVertex(int v, int depth) {
+                return recorder.discoverVertex(v, depth);
+            }
+
+            @Override
+            public Control examineEdge(int u, int v, double weight) {
+                return no_edges.examineEdge(u, v, weight);
+            }
+        });
+        assertEquals(List.of(0), recorder.discovered);
+    }
+
+    @Test
+    void linkedGraphTest() {
+        var G = VertexOrderingTest.shuffledGrid();
+        var linked = new LinkedGraph<>(IntStream.range(0, 400).boxed().collect(Collectors.toList()),
+                LinkedGraph.Direction.NON_DIRECTED);
+        for (int u = 0; u < G.getVerticesCount(); u++) {
+            for (int e = G.begin(u); e < G.end(u); e++) {
+                if (u < G.target(e)) {
+                    linked.setNeighbor(u, G.target(e));
+                }
+            }
+        }
+        var tree = BFS.breathFirstSearch(G, 0);
+        var discovered = new ArrayList<Integer>();
+        var finished = new ArrayList<Integer>();
+        var recorder = new LinkedGraphVisitor<Integer>() {
+            @Override
+            public Control discoverVertex(Integer v, int depth) {
+                discovered.add(v);
+                assertEquals(tree.getDistance(v), depth);
+                return Control.CONTINUE;
+            }
+
+            @Override
+            public Control finishVertex(Integer u) {
+                finished.add(u);
+                return Control.CONTINUE;
+            }
+        };
+        assertFalse(Traversal.BFS(linked, 0, recorder));
+        assertEquals(400, discovered.size());
+        assertEquals(discovered, finished);
+
+        discovered.clear();
+        finished.clear();
+        var dfs = new LinkedGraphVisitor<Integer>() {
+            int depth_sum = 0;
+
+            @Override
+            public Control discoverVertex(Integer v, int depth) {
+                discovered.add(v);
+                depth_sum += depth;
+                return Control.CONTINUE;
+            }
+
+            @Override
+            public Control finishVertex(Integer u) {
+                finished.add(u);
+                return Control.CONTINUE;
+            }
+        };
+        assertFalse(Traversal.DFS(linked, 0, dfs));
+        assertEquals(400, finished.size());
+        assertEquals(0, (int) finished.get(399));
+        assertTrue(dfs.depth_sum > 0);
+
+        var stopper = new LinkedGraphVisitor<Integer>() {
+            int count = 0;
+
+            @Override
+            public Control discoverVertex(Integer v, int depth) {
+                return ++count == 10 ? Control.STOP : Control.CONTINUE;
+            }
+        };
+        assertTrue(Traversal.DFS(linked, 0, stopper));
+        assertEquals(10, stopper.count);
+        assertThrows(IllegalArgumentException.class, () -> Traversal.BFS(linked, -1, stopper));
+    }
+}
@@ -0,0 +1,112 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedGraphTest {
+    @Test
+    void snapshotIsolationTest() {
+        var graph = new VersionedGraph(3, false);
+        var v0 = graph.snapshot();
+        var v1 = graph.update(w -> {
+            w.setNeighbor(0, 1, 2);
+            w.setNeighbor(1, 2, 3);
+        });
+        var v2 = graph.update(w -> {
+            int x = w.addVertex();
+            w.setNeighbor(0, x, 1);
+            w.setNeighbor(x, 2, 1);
+            w.removeNeighbor(1, 2);
+        });
+        assertEquals(0, v0.degree(0));
+        assertEquals(1, v1.getVersion());
+        assertEquals(3, v1.getVerticesCount());
+        assertEquals(4, v2.getVerticesCount());
+        assertEquals(5, SSShortestPath.DijkstraDAryHeap(v1, 0).getDistance(2));
+        assertEquals(2, SSShortestPath.DijkstraDAryHeap(v2, 0).getDistance(2));
+        assertFalse(SSShortestPath.DijkstraDAryHeap(v0, 0).isReachable(2));
+        assertEquals(1, v2.degree(1));
+        assertEquals(2, v1.degree(1));
+    }
+
+    @Test
+    void manyDirectoriesTest() {
+        // one directory holds 1 << 16 vertices, the graph grows into a third one
+        int n = (1 << 17) - 3;
+        var graph = new VersionedGraph(n, true);
+        var v1 = graph.update(w -> {
+            w.setNeighbor(0, n - 1, 1);
+            w.setNeighbor(n - 1, 70_000, 1);
+        });
+        var v2 = graph.update(w -> {
+            for (int i = 0; i < 5; i++) {
+                int x = w.addVertex();
+                w.setNeighbor(70_000, x, 1);
+            }
+            w.removeNeighbor(0, n - 1);
+            w.setNeighbor(0, 5, 1);
+        });
+        assertEquals(n + 5, v2.getVerticesCount());
+        assertEquals(0, v1.degree(70_000));
+        assertEquals(5, v2.degree(70_000));
+        assertEquals(n + 4, v2.target(70_000, 4));
+        assertEquals(2, SSShortestPath.DijkstraDAryHeap(v1, 0).getDistance(70_000));
+        assertFalse(SSShortestPath.DijkstraDAryHeap(v2, 0).isReachable(n + 4));
+        assertEquals(1, v2.degree(n - 1));
+        assertEquals(5, v2.target(0, 0));
+        assertEquals(0, v2.degree(n + 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> v1.degree(n));
+    }
+
+    @Test
+    void concurrentReadersTest() throws InterruptedException {
+        int n = 200;
+        var graph = new VersionedGraph(n, true);
+        graph.update(w -> {
+            for (int i = 0; i + 1 < n; i++) {
+                w.setNeighbor(i, i + 1, 1);
+            }
+        });
+        var stop = new AtomicBoolean(false);
+        var failure = new AtomicReference<Throwable>();
+        Runnable reader = () -> {
+            try {
+                while (!stop.get()) {
+                    var snapshot = graph.snapshot();
+                    var before = SSShortestPath.DijkstraDAryHeap(snapshot, 0).getDistances();
+                    var after = SSShortestPath.DijkstraDAryHeap(snapshot, 0).getDistances();
+                    assertArrayEquals(before, after);
+                    // shortcuts only ever shorten the path
+                    assertTrue(before[n - 1] <= n - 1);
+                }
+            }
+            catch (Throwable e) {
+                failure.set(e);
+            }
+        };
+        var threads = new Thread[3];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(reader);
+            threads[i].start();
+        }
+        var rand = new Random();
+        for (int round = 0; round < 200; round++) {
+            graph.update(w -> {
+                int u = rand.nextInt(n - 1);
+                int v = u + 1 + rand.nextInt(n - 1 - u);
+                w.setNeighbor(u, v, rand.nextInt(3) + 1);
+            });
+        }
+        stop.set(true);
+        for (var t : threads) {
+            t.join();
+        }
+        assertNull(failure.get());
+        assertEquals(200 + 1, graph.snapshot().getVersion());
+    }
+}
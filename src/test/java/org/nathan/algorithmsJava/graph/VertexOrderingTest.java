@@ -0,0 +1,109 @@
+package org.nathan.algorithmsJava.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.nathan.algorithmsJava.tools.Utils.shuffledSequence;
+
+class VertexOrderingTest {
+    // 20 x 20 grid with randomly shuffled labels
+    static CSRGraph<Integer> shuffledGrid() {
+        int side = 20;
+        List<Integer> label = shuffledSequence(0, side * side);
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                if (c + 1 < side) {
+                    sources.add(label.get(r * side + c));
+                    targets.add(label.get(r * side + c + 1));
+                }
+                if (r + 1 < side) {
+                    sources.add(label.get(r * side + c));
+                    targets.add(label.get((r + 1) * side + c));
+                }
+            }
+        }
+        return CSRGraph.fromEdges(side * side,
+                sources.stream().mapToInt(i -> i).toArray(),
+                targets.stream().mapToInt(i -> i).toArray(),
+                null, false);
+    }
+
+    static void assertPermutation(int[] order) {
+        var sorted = order.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    @Test
+    void reverseCuthillMcKeeTest() {
+        var G = shuffledGrid();
+        var order = VertexOrdering.reverseCuthillMcKee(G);
+        assertPermutation(order);
+        var relabeled = G.relabel(order);
+        assertTrue(VertexOrdering.bandwidth(relabeled) <= 2 * 20);
+        assertTrue(VertexOrdering.bandwidth(relabeled) < VertexOrdering.bandwidth(G));
+        var before = SSShortestPath.DijkstraDAryHeap(G, order[0]);
+        var after = SSShortestPath.DijkstraDAryHeap(relabeled, 0);
+        for (int i = 0; i < G.getVerticesCount(); i++) {
+            assertEquals(before.getDistance(relabeled.getVertex(i)), after.getDistance(i));
+        }
+    }
+
+    @Test
+    void directedReverseCuthillMcKeeTest() {
+        // 1 is reachable from both 0 and 2, but neither is reachable from 1
+        var G = CSRGraph.fromEdges(4, new int[]{0, 2}, new int[]{1, 1}, null, true);
+        var order = VertexOrdering.reverseCuthillMcKee(G);
+        assertPermutation(order);
+        var relabeled = G.relabel(order);
+        assertTrue(VertexOrdering.bandwidth(relabeled) <= 1);
+
+        var grid = shuffledGrid();
+        int m = grid.getEdgesCount() / 2;
+        var sources = new int[m];
+        var targets = new int[m];
+        for (int u = 0, i = 0; u < grid.getVerticesCount(); u++) {
+            for (int e = grid.begin(u); e < grid.end(u); e++) {
+                if (u < grid.target(e)) {
+                    sources[i] = u;
+                    targets[i++] = grid.target(e);
+                }
+            }
+        }
+        var directed = CSRGraph.fromEdges(grid.getVerticesCount(), sources, targets, null, true);
+        order = VertexOrdering.reverseCuthillMcKee(directed);
+        assertPermutation(order);
+        assertTrue(VertexOrdering.bandwidth(directed.relabel(order)) <= 2 * 20);
+    }
+
+    @Test
+    void otherOrderTest() {
+        var G = shuffledGrid();
+        var degree = VertexOrdering.degreeOrder(G);
+        assertPermutation(degree);
+        for (int i = 1; i < degree.length; i++) {
+            assertTrue(G.degree(degree[i - 1]) >= G.degree(degree[i]));
+        }
+        var bfs = VertexOrdering.BFSOrder(G);
+        assertPermutation(bfs);
+        var relabeled = G.relabel(bfs);
+        for (int u = 0; u < relabeled.getVerticesCount(); u++) {
+            for (int e = relabeled.begin(u) + 1; e < relabeled.end(u); e++) {
+                assertTrue(relabeled.target(e - 1) <= relabeled.target(e));
+            }
+        }
+        var rank = VertexOrdering.inverse(bfs);
+        for (int i = 0; i < bfs.length; i++) {
+            assertEquals(i, rank[bfs[i]]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> VertexOrdering.inverse(new int[]{0, 0}));
+    }
+}
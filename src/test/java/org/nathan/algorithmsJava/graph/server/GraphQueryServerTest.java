@@ -0,0 +1,205 @@
+package org.nathan.algorithmsJava.graph.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.nathan.algorithmsJava.graph.ArcCursor;
+import org.nathan.algorithmsJava.graph.BFS;
+import org.nathan.algorithmsJava.graph.CSRGraph;
+import org.nathan.algorithmsJava.graph.IntGraph;
+import org.nathan.algorithmsJava.graph.SSShortestPath;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQueryServerTest {
+    static final int SIDE = 30;
+    CSRGraph<Integer> graph;
+    GraphQueryServer server;
+    URI base;
+    HttpClient http = HttpClient.newHttpClient();
+
+    // directed grid with random weights, arcs go right and down only
+    static CSRGraph<Integer> directedGrid() {
+        var random = new Random(48);
+        int m = 2 * SIDE * (SIDE - 1);
+        var sources = new int[m];
+        var targets = new int[m];
+        var weights = new double[m];
+        int i = 0;
+        for (int r = 0; r < SIDE; r++) {
+            for (int c = 0; c < SIDE; c++) {
+                if (c + 1 < SIDE) {
+                    sources[i] = r * SIDE + c;
+                    targets[i] = r * SIDE + c + 1;
+                    weights[i++] = 1 + random.nextInt(9);
+                }
+                if (r + 1 < SIDE) {
+                    sources[i] = r * SIDE + c;
+                    targets[i] = (r + 1) * SIDE + c;
+                    weights[i++] = 1 + random.nextInt(9);
+                }
+            }
+        }
+        return CSRGraph.fromEdges(SIDE * SIDE, sources, targets, weights, true);
+    }
+
+    @BeforeEach
+    void start() {
+        graph = directedGrid();
+        server = new GraphQueryServer(graph, 2, 8, 100_000);
+        int port = server.start(0);
+        base = URI.create("http://127.0.0.1:" + port);
+    }
+
+    @AfterEach
+    void stop() {
+        server.close();
+    }
+
+    HttpResponse<byte[]> post(String query, byte[] body) throws Exception {
+        var request = HttpRequest.newBuilder(base.resolve(GraphQueryServer.QUERY_PATH + query))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void distanceTest() throws Exception {
+        int[] sources = {0, 45, 0, SIDE * SIDE - 1};
+        int[] targets = {0, 1, SIDE * SIDE - 1, 46, 44};
+        var response = post("?algorithm=dijkstra", GraphQueryServer.encodeBatch(sources, targets));
+        assertEquals(200, response.statusCode());
+        var distances = GraphQueryServer.decodeDistances(response.body());
+        assertEquals(sources.length * targets.length, distances.length);
+        for (int i = 0; i < sources.length; i++) {
+            var tree = SSShortestPath.DijkstraDAryHeap(graph, sources[i]);
+            for (int j = 0; j < targets.length; j++) {
+                assertEquals(tree.getDistance(targets[j]), distances[i * targets.length + j]);
+            }
+        }
+        assertEquals(3, server.getSearchesRun()); // source 0 is searched once
+
+        response = post("?algorithm=bfs", GraphQueryServer.encodeBatch(new int[]{0}, new int[0]));
+        distances = GraphQueryServer.decodeDistances(response.body());
+        assertArrayEquals(BFS.breathFirstSearch(graph, 0).getDistances(), distances);
+        assertEquals(2, server.getBatchesServed());
+    }
+
+    @Test
+    void formatTest() throws Exception {
+        var body = GraphQueryServer.encodeBatch(new int[]{SIDE + 1}, new int[]{0, SIDE + 1, SIDE + 2});
+        var response = post("?mode=reach", body);
+        assertArrayEquals(new byte[]{0, 1, 1}, response.body());
+        response = post("?mode=reach&format=json", body);
+        assertEquals("{\"reachable\":[[false,true,true]]}", new String(response.body(), StandardCharsets.UTF_8));
+        response = post("?format=json", body);
+        assertEquals(String.format("{\"distances\":[[null,0.0,%s]]}", graph.weight(graph.begin(SIDE + 1))),
+                new String(response.body(), StandardCharsets.UTF_8));
+        var info = http.send(HttpRequest.newBuilder(base.resolve(GraphQueryServer.INFO_PATH)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(String.format("{\"vertices\":%d,\"arcs\":%d}", SIDE * SIDE, graph.getEdgesCount()),
+                info.body());
+    }
+
+    @Test
+    void badRequestTest() throws Exception {
+        assertEquals(400, post("", GraphQueryServer.encodeBatch(new int[]{SIDE * SIDE}, new int[0])).statusCode());
+        assertEquals(400, post("", new byte[]{1, 0, 0}).statusCode());
+        assertEquals(400, post("?algorithm=astar", GraphQueryServer.encodeBatch(new int[]{0}, new int[0])).statusCode());
+        assertEquals(400, post("?format=xml", GraphQueryServer.encodeBatch(new int[]{0}, new int[0])).statusCode());
+        var sources = new int[200];
+        assertEquals(413, post("", GraphQueryServer.encodeBatch(sources, new int[0])).statusCode());
+        var header = GraphQueryServer.encodeBatch(new int[0], new int[0]);
+        header[0] = 1;
+        header[7] = 0x10; // 1 << 28 targets, body holds only the counts
+        assertEquals(413, post("", header).statusCode());
+        var truncated = GraphQueryServer.encodeBatch(new int[]{0}, new int[]{1});
+        truncated[4] = 2;
+        assertEquals(400, post("", truncated).statusCode());
+        var get = HttpRequest.newBuilder(base.resolve(GraphQueryServer.QUERY_PATH)).build();
+        assertEquals(405, http.send(get, HttpResponse.BodyHandlers.discarding()).statusCode());
+        assertEquals(8, server.getFailedRequests());
+        assertEquals(0, server.getBatchesServed());
+    }
+
+    @Test
+    void loadGeneratorTest() {
+        var generator = new LoadGenerator(base, SIDE * SIDE, 4, 3, 16, 7);
+        var report = generator.run(25, "dijkstra");
+        assertEquals(100, report.getRequests());
+        assertEquals(0, report.getErrors());
+        assertEquals(100, server.getBatchesServed());
+        assertTrue(report.getThroughput() > 0);
+        assertEquals(report.getThroughput() * 48, report.getPairsPerSecond(), 1e-6);
+        assertTrue(report.getLatencyPercentile(50) <= report.getLatencyPercentile(99));
+        assertTrue(report.getLatencyPercentile(99) <= report.getLatencyPercentile(100));
+        assertTrue(report.getLatencyPercentile(0) > 0);
+    }
+
+    @Test
+    void closeDrainsTest() throws Exception {
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        // searches block in newCursor until released
+        IntGraph blocking = new IntGraph() {
+            @Override
+            public int getVerticesCount() {
+                return graph.getVerticesCount();
+            }
+
+            @Override
+            public int degree(int u) {
+                return graph.degree(u);
+            }
+
+            @Override
+            public ArcCursor newCursor() {
+                entered.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return graph.newCursor();
+            }
+        };
+        var slow = new GraphQueryServer(blocking, 2, 8, 100_000);
+        var uri = URI.create("http://127.0.0.1:" + slow.start(0) + GraphQueryServer.QUERY_PATH);
+        var body = GraphQueryServer.encodeBatch(new int[]{0}, new int[]{1});
+        var running = http.sendAsync(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        entered.await();
+        var closer = new Thread(slow::close);
+        closer.start();
+        while (true) {
+            try {
+                slow.getPort(); // close does not hold the server lock while it drains
+                Thread.onSpinWait();
+            }
+            catch (IllegalStateException e) {
+                break;
+            }
+        }
+        // requests arriving while the running one drains are refused
+        var late = http.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(503, late.statusCode());
+        assertTrue(closer.isAlive());
+        release.countDown();
+        var response = running.get();
+        assertEquals(200, response.statusCode());
+        assertArrayEquals(new double[]{graph.weight(graph.begin(0))},
+                GraphQueryServer.decodeDistances(response.body()));
+        closer.join(TimeUnit.SECONDS.toMillis(GraphQueryServer.CLOSE_TIMEOUT_SECONDS));
+        assertFalse(closer.isAlive());
+    }
+}
@@ -0,0 +1,92 @@
+package org.nathan.algorithmsJava.structures;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * throughput of ConcurrentDisjointSet against an IntDisjointSet behind one lock, not run by the unit tests.
+ * every run unions the same random pairs into a fresh set, split evenly over the threads.
+ * <pre>
+ *     mvn -B test-compile
+ *     java -cp target/classes:target/test-classes \
+ *          org.nathan.algorithmsJava.structures.ConcurrentDisjointSetBenchmark [n] [unions] [max threads]
+ * </pre>
+ */
+public final class ConcurrentDisjointSetBenchmark {
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    interface UnionSet {
+        void union(int a, int b);
+    }
+
+    interface SetFactory {
+        UnionSet create();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22;
+        int m = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 22;
+        int max_threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        var pairs = ConcurrentDisjointSetTest.randomPairs(n, m, 29);
+        System.out.printf("n %d, unions %d%n", n, m);
+        System.out.printf("%8s %20s %22s %8s%n", "threads", "lock-free unions/s", "synchronized unions/s", "ratio");
+        for (int threads = 1; threads <= max_threads; threads *= 2) {
+            var pool = Executors.newFixedThreadPool(threads);
+            try {
+                double lock_free = measure(pool, threads, pairs, () -> new ConcurrentDisjointSet(n)::union);
+                double locked = measure(pool, threads, pairs, () -> {
+                    var inner = new IntDisjointSet(n);
+                    return (a, b) -> {
+                        synchronized (inner) {
+                            inner.union(a, b);
+                        }
+                    };
+                });
+                System.out.printf("%8d %20.0f %22.0f %8.2f%n", threads, lock_free, locked, lock_free / locked);
+            }
+            finally {
+                pool.shutdown();
+            }
+            if (threads < max_threads && threads * 2 > max_threads) {
+                threads = max_threads / 2; // the last row uses max_threads
+            }
+        }
+    }
+
+    // best unions per second of the measured runs
+    private static double measure(ExecutorService pool, int threads, int[][] pairs, SetFactory factory)
+            throws Exception {
+        double best = 0;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            var set = factory.create();
+            long start = System.nanoTime();
+            run(pool, threads, pairs, set);
+            long elapsed = System.nanoTime() - start;
+            if (run >= WARMUP_RUNS) {
+                best = Math.max(best, pairs[0].length / (elapsed / 1e9));
+            }
+        }
+        return best;
+    }
+
+    private static void run(ExecutorService pool, int threads, int[][] pairs, UnionSet set) throws Exception {
+        int m = pairs[0].length;
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) t * m / threads);
+            int to = (int) ((long) (t + 1) * m / threads);
+            futures.add(pool.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    set.union(pairs[0][i], pairs[1][i]);
+                }
+            }));
+        }
+        for (var f : futures) {
+            f.get();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.nathan.algorithmsJava.structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentDisjointSetTest {
+    static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    interface UnionOperation {
+        void apply(int a, int b);
+    }
+
+    static void runInParallel(ExecutorService pool, int[] a, int[] b, UnionOperation op) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        int chunk = (a.length + THREADS - 1) / THREADS;
+        for (int t = 0; t < THREADS; t++) {
+            int from = t * chunk;
+            int to = Math.min(a.length, from + chunk);
+            futures.add(pool.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    op.apply(a[i], b[i]);
+                }
+            }));
+        }
+        for (var f : futures) {
+            f.get();
+        }
+    }
+
+    static int[][] randomPairs(int n, int m, long seed) {
+        var rand = new Random(seed);
+        var a = new int[m];
+        var b = new int[m];
+        for (int i = 0; i < m; i++) {
+            a[i] = rand.nextInt(n);
+            b[i] = rand.nextInt(n);
+        }
+        return new int[][]{a, b};
+    }
+
+    @Test
+    void stressTest() throws Exception {
+        int n = 100_000;
+        var pairs = randomPairs(n, 60_000, 42);
+        var expected = new IntDisjointSet(n);
+        expected.unionAll(pairs[0], pairs[1]);
+
+        var pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 5; round++) {
+                var set = new ConcurrentDisjointSet(n);
+                runInParallel(pool, pairs[0], pairs[1], (x, y) -> {
+                    set.union(x, y);
+                    assertTrue(set.sameSet(x, y));
+                });
+                assertEquals(expected.getSetsCount(), set.getSetsCount());
+                assertArrayEquals(expected.componentLabels(), set.componentLabels());
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    // lock-free and locked unions agree, see ConcurrentDisjointSetBenchmark for their throughput
+    @Test
+    void largeParallelUnionTest() throws Exception {
+        int n = 1 << 20;
+        var pairs = randomPairs(n, n, 7);
+        var pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            var lock_free = new ConcurrentDisjointSet(n);
+            runInParallel(pool, pairs[0], pairs[1], lock_free::union);
+
+            var inner = new IntDisjointSet(n);
+            runInParallel(pool, pairs[0], pairs[1], (x, y) -> {
+                synchronized (inner) {
+                    inner.union(x, y);
+                }
+            });
+
+            assertEquals(inner.getSetsCount(), lock_free.getSetsCount());
+            assertArrayEquals(inner.componentLabels(), lock_free.componentLabels());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
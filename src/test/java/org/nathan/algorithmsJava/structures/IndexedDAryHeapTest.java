@@ -0,0 +1,61 @@
+package org.nathan.algorithmsJava.structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.nathan.algorithmsJava.tools.Utils.*;
+
+class IndexedDAryHeapTest {
+    @Test
+    void randomInsertTest() {
+        for (int d = 2; d < 6; d++) {
+            List<Integer> l = shuffledSequence(0, 100);
+            var heap = new IndexedDAryHeap(100, d);
+            for (var i : l) {
+                heap.insert(i, i);
+            }
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, heap.extractMin());
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    void randomUpdateKeyTest() {
+        var rand = new Random();
+        for (int t = 0; t < 10; t++) {
+            var heap = new IndexedDAryHeap(64);
+            var keys = randomDoubleArray(0, 100, 64);
+            for (int i = 0; i < 64; i++) {
+                heap.insert(i, keys[i]);
+            }
+            for (int i = 0; i < 64; i++) {
+                keys[i] = rand.nextDouble() * 100;
+                heap.updateKey(i, keys[i]);
+            }
+            double last = Double.NEGATIVE_INFINITY;
+            while (!heap.isEmpty()) {
+                assertTrue(heap.minKey() >= last);
+                last = heap.minKey();
+                int idx = heap.extractMin();
+                assertEquals(keys[idx], last);
+                assertFalse(heap.contains(idx));
+            }
+        }
+    }
+
+    @Test
+    void illegalOperationTest() {
+        var heap = new IndexedDAryHeap(4);
+        heap.insert(1, 1);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 2));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 3));
+        heap.extractMin();
+        assertThrows(NoSuchElementException.class, heap::extractMin);
+    }
+}
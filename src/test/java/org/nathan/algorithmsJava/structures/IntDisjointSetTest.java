@@ -0,0 +1,57 @@
+package org.nathan.algorithmsJava.structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntDisjointSetTest {
+    @Test
+    void longChainTest() {
+        int n = 1_000_000;
+        var set = new IntDisjointSet(n);
+        var a = new int[n - 1];
+        var b = new int[n - 1];
+        for (int i = 0; i < n - 1; i++) {
+            a[i] = i;
+            b[i] = i + 1;
+        }
+        assertEquals(n - 1, set.unionAll(a, b));
+        assertEquals(1, set.getSetsCount());
+        assertTrue(set.sameSet(0, n - 1));
+        assertEquals(n, set.setSize(n / 2));
+    }
+
+    @Test
+    void randomUnionTest() {
+        var rand = new Random();
+        int n = 200;
+        var set = new IntDisjointSet(n);
+        var naive = new int[n];
+        for (int i = 0; i < n; i++) {
+            naive[i] = i;
+        }
+        for (int t = 0; t < 150; t++) {
+            int x = rand.nextInt(n);
+            int y = rand.nextInt(n);
+            boolean merged = naive[x] != naive[y];
+            assertEquals(merged, set.union(x, y));
+            int old = naive[y];
+            for (int i = 0; i < n; i++) {
+                if (naive[i] == old) {
+                    naive[i] = naive[x];
+                }
+            }
+        }
+        var labels = set.componentLabels();
+        int max_label = -1;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals(naive[i] == naive[j], labels[i] == labels[j]);
+            }
+            max_label = Math.max(max_label, labels[i]);
+        }
+        assertEquals(set.getSetsCount(), max_label + 1);
+    }
+}
@@ -0,0 +1,30 @@
+package org.nathan.algorithmsJava.structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollbackDisjointSetTest {
+    @Test
+    void rollbackTest() {
+        var set = new RollbackDisjointSet(6);
+        set.union(0, 1);
+        int s1 = set.snapshot();
+        set.union(2, 3);
+        set.union(1, 3);
+        int s2 = set.snapshot();
+        assertFalse(set.union(0, 2));
+        set.union(4, 5);
+        assertEquals(2, set.getSetsCount());
+        set.rollback(s2);
+        assertEquals(3, set.getSetsCount());
+        assertTrue(set.sameSet(0, 3));
+        assertFalse(set.sameSet(4, 5));
+        set.rollback(s1);
+        assertEquals(5, set.getSetsCount());
+        assertTrue(set.sameSet(0, 1));
+        assertFalse(set.sameSet(1, 2));
+        assertFalse(set.sameSet(2, 3));
+        assertThrows(IllegalArgumentException.class, () -> set.rollback(s2));
+    }
+}